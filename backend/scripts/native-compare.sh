@@ -0,0 +1,70 @@
+#!/usr/bin/env sh
+# Builds the JVM and native images, smoke-tests both, and prints a comparison of
+# time-to-first-request, resident memory after warm-up and steady-state throughput.
+#
+#   docker-compose up -d postgres
+#   backend/scripts/native-compare.sh
+#
+# Throughput uses `hey` when installed (https://github.com/rakyll/hey) and is
+# skipped otherwise. Set SKIP_BUILD=1 to reuse existing ems-backend:jvm and
+# ems-backend:native images.
+set -eu
+
+cd "$(dirname "$0")/.."
+
+NETWORK="${NETWORK:-payroll-processing_default}"
+PORT="${PORT:-18080}"
+DURATION="${DURATION:-30s}"
+CONCURRENCY="${CONCURRENCY:-20}"
+
+if [ "${SKIP_BUILD:-0}" != "1" ]; then
+  docker build -t ems-backend:jvm -f Dockerfile .
+  docker build -t ems-backend:native -f Dockerfile.native .
+fi
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  image="$1"
+  start=$(now_ms)
+  container=$(docker run -d --rm --network "$NETWORK" -p "$PORT:8080" \
+    -e DATABASE_URL=jdbc:postgresql://postgres:5432/emsdb \
+    -e DATABASE_USER=postgres \
+    -e DATABASE_PASSWORD=postgres \
+    "$image")
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    sleep 0.05
+  done
+  startup=$(( $(now_ms) - start ))
+
+  # Smoke test: authenticate and call a JPA-backed, JWT-protected endpoint
+  token=$(curl -sf -X POST "http://localhost:$PORT/api/v1/auth/login" \
+    -H 'Content-Type: application/json' \
+    -d '{"email":"admin@example.com","password":"admin123"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+  if [ -z "$token" ]; then
+    echo "smoke test failed for $image: login returned no token" >&2
+    docker logs "$container" >&2
+    docker stop "$container" > /dev/null
+    exit 1
+  fi
+  curl -sf "http://localhost:$PORT/api/v1/users/me" -H "Authorization: Bearer $token" > /dev/null
+  curl -sf "http://localhost:$PORT/api/v1/projects?size=20" -H "Authorization: Bearer $token" > /dev/null
+
+  throughput="n/a"
+  if command -v hey > /dev/null; then
+    throughput=$(hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $token" \
+      "http://localhost:$PORT/api/v1/projects?size=20" | awk '/Requests\/sec/ {print $2}')
+  fi
+
+  rss=$(docker stats --no-stream --format '{{.MemUsage}}' "$container" | cut -d/ -f1 | tr -d ' ')
+  docker stop "$container" > /dev/null
+
+  printf '%-22s %18s %16s %18s\n' "$image" "${startup} ms" "$rss" "$throughput"
+}
+
+printf '%-22s %18s %16s %18s\n' "image" "first request" "memory" "requests/sec"
+measure ems-backend:jvm
+measure ems-backend:native
@@ -0,0 +1,79 @@
+#!/usr/bin/env sh
+# Measures createOrUpdateTimesheet throughput for combinations of connection pool
+# size and pgjdbc server-side prepare threshold (0 disables statement caching).
+#
+#   docker-compose up -d postgres
+#   docker build -t ems-backend backend
+#   backend/scripts/pool-benchmark.sh [image]
+#
+# Every worker upserts its own week so requests do not conflict on the same
+# timesheet version. Requires `hey` (https://github.com/rakyll/hey).
+set -eu
+
+IMAGE="${1:-ems-backend}"
+NETWORK="${NETWORK:-payroll-processing_default}"
+PORT="${PORT:-18080}"
+DURATION="${DURATION:-30s}"
+WORKERS="${WORKERS:-32}"
+POOL_SIZES="${POOL_SIZES:-5 10 20 40}"
+PREPARE_THRESHOLDS="${PREPARE_THRESHOLDS:-0 3}"
+
+command -v hey > /dev/null || { echo "hey is required" >&2; exit 1; }
+
+workdir=$(mktemp -d)
+trap 'rm -rf "$workdir"' EXIT
+
+run() {
+  pool_size="$1"
+  prepare_threshold="$2"
+  container=$(docker run -d --rm --network "$NETWORK" -p "$PORT:8080" \
+    -e DATABASE_URL=jdbc:postgresql://postgres:5432/emsdb \
+    -e DATABASE_USER=postgres \
+    -e DATABASE_PASSWORD=postgres \
+    -e DATABASE_POOL_SIZE="$pool_size" \
+    -e DATABASE_PREPARE_THRESHOLD="$prepare_threshold" \
+    -e RATE_LIMIT_ENABLED=false \
+    "$IMAGE")
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    sleep 0.2
+  done
+
+  token=$(curl -sf -X POST "http://localhost:$PORT/api/v1/auth/login" \
+    -H 'Content-Type: application/json' \
+    -d '{"email":"admin@example.com","password":"admin123"}' | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+  user_id=$(curl -sf "http://localhost:$PORT/api/v1/users/me" -H "Authorization: Bearer $token" \
+    | sed -n 's/^{"id":\([0-9]*\).*/\1/p')
+
+  i=0
+  while [ "$i" -lt "$WORKERS" ]; do
+    # Sundays counting back from 2020-01-05, one week per worker
+    week=$(date -d "2020-01-05 - $(( i * 7 )) days" +%F)
+    cat > "$workdir/body-$i.json" <<JSON
+{"weekStartDate":"$week","timeEntries":[
+ {"entryDate":"$week","hours":8,"taskType":"NON_BILLABLE","notes":"benchmark"},
+ {"entryDate":"$(date -d "$week + 1 day" +%F)","hours":8,"taskType":"NON_BILLABLE","notes":"benchmark"},
+ {"entryDate":"$(date -d "$week + 2 days" +%F)","hours":8,"taskType":"NON_BILLABLE","notes":"benchmark"}]}
+JSON
+    hey -z "$DURATION" -c 1 -m POST -T application/json -D "$workdir/body-$i.json" \
+      -H "Authorization: Bearer $token" \
+      "http://localhost:$PORT/api/v1/timesheets/user/$user_id" > "$workdir/out-$i.txt" &
+    i=$(( i + 1 ))
+  done
+  wait
+
+  throughput=$(awk '/Requests\/sec/ {sum += $2} END {printf "%.1f", sum}' "$workdir"/out-*.txt)
+  p99=$(awk '/ 99%/ {print $3}' "$workdir"/out-*.txt | sort -n | tail -1)
+  errors=$(grep -h '^\s*\[[45][0-9][0-9]\]' "$workdir"/out-*.txt | awk '{sum += $2} END {print sum + 0}')
+  docker stop "$container" > /dev/null
+  rm -f "$workdir"/out-*.txt
+
+  printf '%10s %18s %14s %14s %8s\n' "$pool_size" "$prepare_threshold" "$throughput" "${p99:-n/a}s" "$errors"
+}
+
+printf '%10s %18s %14s %14s %8s\n' "pool size" "prepare threshold" "requests/sec" "worst p99" "errors"
+for pool_size in $POOL_SIZES; do
+  for prepare_threshold in $PREPARE_THRESHOLDS; do
+    run "$pool_size" "$prepare_threshold"
+  done
+done
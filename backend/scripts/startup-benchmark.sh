@@ -0,0 +1,44 @@
+#!/usr/bin/env sh
+# Measures time-to-first-request of the backend image: starts a container against
+# the compose database and polls until /actuator/health answers 200.
+#
+#   docker-compose up -d postgres
+#   docker build -t ems-backend backend
+#   backend/scripts/startup-benchmark.sh [image] [runs]
+#
+# Also prints the in-app ems.startup.* timings logged by StartupTimingReporter.
+set -eu
+
+IMAGE="${1:-ems-backend}"
+RUNS="${2:-5}"
+NETWORK="${NETWORK:-payroll-processing_default}"
+PORT="${PORT:-18080}"
+
+now_ms() {
+  date +%s%3N
+}
+
+total=0
+i=1
+while [ "$i" -le "$RUNS" ]; do
+  start=$(now_ms)
+  container=$(docker run -d --rm --network "$NETWORK" -p "$PORT:8080" \
+    -e DATABASE_URL=jdbc:postgresql://postgres:5432/emsdb \
+    -e DATABASE_USER=postgres \
+    -e DATABASE_PASSWORD=postgres \
+    ${JAVA_OPTS:+-e JAVA_OPTS="$JAVA_OPTS"} \
+    "$IMAGE")
+
+  until curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; do
+    sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  total=$(( total + elapsed ))
+
+  echo "run $i: first request after ${elapsed} ms"
+  docker logs "$container" 2>&1 | grep -E "Application ready|First request" | sed 's/^.*INFO/  INFO/'
+  docker stop "$container" > /dev/null
+  i=$(( i + 1 ))
+done
+
+echo "average time-to-first-request over $RUNS runs: $(( total / RUNS )) ms"
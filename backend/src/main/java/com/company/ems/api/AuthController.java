@@ -3,6 +3,7 @@ package com.company.ems.api;
 import com.company.ems.api.dto.auth.AuthResponse;
 import com.company.ems.api.dto.auth.LoginRequest;
 import com.company.ems.service.AuthService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/v1/auth")
 @RequiredArgsConstructor
+@Observed
 public class AuthController {
 
     private final AuthService authService;
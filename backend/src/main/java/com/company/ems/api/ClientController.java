@@ -2,7 +2,10 @@ package com.company.ems.api;
 
 import com.company.ems.api.dto.client.ClientRequest;
 import com.company.ems.api.dto.client.ClientResponse;
+import com.company.ems.config.VersionedResource;
+import com.company.ems.domain.ResourceType;
 import com.company.ems.service.ClientService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -15,11 +18,13 @@ import org.springframework.web.bind.annotation.*;
 @RestController
 @RequestMapping("/api/v1/clients")
 @RequiredArgsConstructor
+@Observed
 public class ClientController {
 
     private final ClientService clientService;
 
     @GetMapping
+    @VersionedResource(ResourceType.CLIENTS)
     public ResponseEntity<Page<ClientResponse>> getAllClients(Pageable pageable) {
         return ResponseEntity.ok(clientService.getAllClients(pageable));
     }
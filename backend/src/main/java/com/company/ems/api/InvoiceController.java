@@ -1,30 +1,43 @@
 package com.company.ems.api;
 
 import com.company.ems.api.dto.invoice.InvoiceGenerateRequest;
+import com.company.ems.api.dto.invoice.InvoicePdfBatchResponse;
 import com.company.ems.api.dto.invoice.InvoiceResponse;
 import com.company.ems.api.dto.invoice.InvoiceStatusUpdateRequest;
 import com.company.ems.api.dto.invoice.PaymentRequest;
 import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.service.InvoicePdfService;
 import com.company.ems.service.InvoiceService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/v1/invoices")
 @RequiredArgsConstructor
+@Observed
 @PreAuthorize("hasRole('ADMIN')")
 public class InvoiceController {
 
     private final InvoiceService invoiceService;
+    private final InvoicePdfService invoicePdfService;
 
     @GetMapping
     public ResponseEntity<Page<InvoiceResponse>> getAllInvoices(Pageable pageable) {
@@ -33,7 +46,34 @@ public class InvoiceController {
 
     @GetMapping("/{id}")
     public ResponseEntity<InvoiceResponse> getInvoiceById(@PathVariable Integer id) {
-        return ResponseEntity.ok(invoiceService.getInvoiceById(id));
+        InvoiceResponse response = invoiceService.getInvoiceById(id);
+        return ResponseEntity.ok().eTag(VersionETags.toETag(response.version())).body(response);
+    }
+
+    /**
+     * Downloads the invoice as PDF, served from the stored artifact when the
+     * invoice has not changed since it was rendered. Answers 202 with
+     * Retry-After if rendering takes longer than the configured wait.
+     */
+    @GetMapping("/{id}/pdf")
+    public ResponseEntity<Resource> getInvoicePdf(@PathVariable Integer id) {
+        Optional<Path> pdf = invoicePdfService.getPdf(id);
+        if (pdf.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).header(HttpHeaders.RETRY_AFTER, "2").build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("invoice-" + id + ".pdf")
+                        .build()
+                        .toString())
+                .body(new FileSystemResource(pdf.get()));
+    }
+
+    @PostMapping("/pdf/bulk")
+    public ResponseEntity<InvoicePdfBatchResponse> renderMonthlyInvoicePdfs(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth month) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(invoicePdfService.renderMonth(month));
     }
 
     @GetMapping("/client/{clientId}")
@@ -61,8 +101,10 @@ public class InvoiceController {
     @PatchMapping("/{id}/status")
     public ResponseEntity<InvoiceResponse> updateInvoiceStatus(
             @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody InvoiceStatusUpdateRequest request) {
-        return ResponseEntity.ok(invoiceService.updateInvoiceStatus(id, request));
+        InvoiceResponse response = invoiceService.updateInvoiceStatus(id, request, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.toETag(response.version())).body(response);
     }
 
     @PostMapping("/{id}/payments")
@@ -73,8 +115,10 @@ public class InvoiceController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteInvoice(@PathVariable Integer id) {
-        invoiceService.deleteInvoice(id);
+    public ResponseEntity<Void> deleteInvoice(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        invoiceService.deleteInvoice(id, VersionETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
@@ -1,9 +1,14 @@
 package com.company.ems.api;
 
+import com.company.ems.api.dto.project.ProjectAssignmentBulkRequest;
+import com.company.ems.api.dto.project.ProjectAssignmentBulkResponse;
 import com.company.ems.api.dto.project.ProjectAssignmentRequest;
 import com.company.ems.api.dto.project.ProjectRequest;
 import com.company.ems.api.dto.project.ProjectResponse;
+import com.company.ems.config.VersionedResource;
+import com.company.ems.domain.ResourceType;
 import com.company.ems.service.ProjectService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,11 +23,13 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/v1/projects")
 @RequiredArgsConstructor
+@Observed
 public class ProjectController {
 
     private final ProjectService projectService;
 
     @GetMapping
+    @VersionedResource({ResourceType.PROJECTS, ResourceType.CLIENTS})
     public ResponseEntity<Page<ProjectResponse>> getAllProjects(Pageable pageable) {
         return ResponseEntity.ok(projectService.getAllProjects(pageable));
     }
@@ -38,6 +45,7 @@ public class ProjectController {
     }
 
     @GetMapping("/user/{userId}")
+    @VersionedResource({ResourceType.PROJECTS, ResourceType.CLIENTS, ResourceType.PROJECT_ASSIGNMENTS, ResourceType.USERS})
     public ResponseEntity<List<ProjectResponse>> getActiveProjectsByUserId(@PathVariable Integer userId) {
         return ResponseEntity.ok(projectService.getActiveProjectsByUserId(userId));
     }
@@ -77,5 +85,19 @@ public class ProjectController {
         projectService.unassignUserFromProject(userId, projectId);
         return ResponseEntity.noContent().build();
     }
-}
 
+    @PostMapping("/assignments/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProjectAssignmentBulkResponse> assignUsersToProjects(
+            @Valid @RequestBody ProjectAssignmentBulkRequest request) {
+        return ResponseEntity.ok(projectService.assignUsersToProjects(request));
+    }
+
+    @DeleteMapping("/assignments/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProjectAssignmentBulkResponse> unassignUsersFromProjects(
+            @RequestParam List<Integer> projectIds,
+            @RequestParam List<Integer> userIds) {
+        return ResponseEntity.ok(projectService.unassignUsersFromProjects(projectIds, userIds));
+    }
+}
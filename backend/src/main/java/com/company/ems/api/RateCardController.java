@@ -0,0 +1,52 @@
+package com.company.ems.api;
+
+import com.company.ems.api.dto.ratecard.RateCardRequest;
+import com.company.ems.api.dto.ratecard.RateCardResponse;
+import com.company.ems.config.VersionedResource;
+import com.company.ems.domain.ResourceType;
+import com.company.ems.service.RateCardService;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/rate-cards")
+@RequiredArgsConstructor
+@Observed
+public class RateCardController {
+
+    private final RateCardService rateCardService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    @VersionedResource({ResourceType.RATE_CARDS, ResourceType.PROJECTS, ResourceType.USERS})
+    public ResponseEntity<List<RateCardResponse>> getRateCardsByProjectId(@RequestParam Integer projectId) {
+        return ResponseEntity.ok(rateCardService.getRateCardsByProjectId(projectId));
+    }
+
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RateCardResponse> createRateCard(@Valid @RequestBody RateCardRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(rateCardService.createRateCard(request));
+    }
+
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<RateCardResponse> updateRateCard(@PathVariable Integer id,
+                                                           @Valid @RequestBody RateCardRequest request) {
+        return ResponseEntity.ok(rateCardService.updateRateCard(id, request));
+    }
+
+    @DeleteMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> deleteRateCard(@PathVariable Integer id) {
+        rateCardService.deleteRateCard(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,25 @@
+package com.company.ems.api;
+
+import com.company.ems.api.dto.forecast.CapacityForecastResponse;
+import com.company.ems.service.ForecastService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+@Observed
+public class ReportController {
+
+    private final ForecastService forecastService;
+
+    @GetMapping("/capacity-forecast")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<CapacityForecastResponse> getCapacityForecast(
+            @RequestParam(defaultValue = "12") int weeks) {
+        return ResponseEntity.ok(forecastService.getCapacityForecast(weeks));
+    }
+}
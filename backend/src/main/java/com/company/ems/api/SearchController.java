@@ -0,0 +1,43 @@
+package com.company.ems.api;
+
+import com.company.ems.api.dto.search.SearchResultResponse;
+import com.company.ems.api.dto.search.SearchResultType;
+import com.company.ems.service.SearchService;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/search")
+@RequiredArgsConstructor
+@Observed
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<List<SearchResultResponse>> search(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Set<SearchResultType> types,
+            @RequestParam(defaultValue = "10") int limit,
+            Authentication authentication) {
+        Set<SearchResultType> requestedTypes = types == null || types.isEmpty()
+                ? EnumSet.allOf(SearchResultType.class)
+                : EnumSet.copyOf(types);
+
+        // User directory is only visible to managers and admins, as on /api/v1/users
+        boolean canSeeUsers = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN") || a.getAuthority().equals("ROLE_MANAGER"));
+        if (!canSeeUsers) {
+            requestedTypes.remove(SearchResultType.USER);
+        }
+
+        return ResponseEntity.ok(searchService.search(query, requestedTypes, limit));
+    }
+}
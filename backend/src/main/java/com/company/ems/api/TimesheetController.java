@@ -1,24 +1,37 @@
 package com.company.ems.api;
 
 import com.company.ems.api.dto.timesheet.TimesheetApprovalRequest;
+import com.company.ems.api.dto.timesheet.TimesheetBatchRequest;
+import com.company.ems.api.dto.timesheet.TimesheetBatchResponse;
+import com.company.ems.api.dto.timesheet.TimesheetBulkApprovalRequest;
+import com.company.ems.api.dto.timesheet.TimesheetBulkApprovalResponse;
 import com.company.ems.api.dto.timesheet.TimesheetRequest;
 import com.company.ems.api.dto.timesheet.TimesheetResponse;
+import com.company.ems.api.dto.timesheet.TimesheetSummaryResponse;
+import com.company.ems.service.TimesheetQueueBroadcaster;
 import com.company.ems.service.TimesheetService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/v1/timesheets")
 @RequiredArgsConstructor
+@Observed
 public class TimesheetController {
 
     private final TimesheetService timesheetService;
+    private final TimesheetQueueBroadcaster timesheetQueueBroadcaster;
 
     @GetMapping("/user/{userId}")
     public ResponseEntity<Page<TimesheetResponse>> getTimesheetsByUserId(
@@ -27,9 +40,17 @@ public class TimesheetController {
         return ResponseEntity.ok(timesheetService.getTimesheetsByUserId(userId, pageable));
     }
 
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<Page<TimesheetSummaryResponse>> getTimesheetSummariesByUserId(
+            @PathVariable Integer userId,
+            Pageable pageable) {
+        return ResponseEntity.ok(timesheetService.getTimesheetSummariesByUserId(userId, pageable));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TimesheetResponse> getTimesheetById(@PathVariable Integer id) {
-        return ResponseEntity.ok(timesheetService.getTimesheetById(id));
+        TimesheetResponse response = timesheetService.getTimesheetById(id);
+        return ResponseEntity.ok().eTag(VersionETags.toETag(response.version())).body(response);
     }
 
     @GetMapping("/pending/manager/{managerId}")
@@ -40,30 +61,95 @@ public class TimesheetController {
         return ResponseEntity.ok(timesheetService.getPendingTimesheetsForManager(managerId, pageable));
     }
 
+    @GetMapping("/pending/manager/{managerId}/summary")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Page<TimesheetSummaryResponse>> getPendingTimesheetSummariesForManager(
+            @PathVariable Integer managerId,
+            Pageable pageable) {
+        return ResponseEntity.ok(timesheetService.getPendingTimesheetSummariesForManager(managerId, pageable));
+    }
+
+    /**
+     * Streams changes to the manager's approval queue. Subscribe before loading
+     * the pending list so no transition is missed in between.
+     */
+    @GetMapping(value = "/pending/manager/{managerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public SseEmitter streamPendingTimesheetsForManager(@PathVariable Integer managerId) {
+        return timesheetQueueBroadcaster.subscribe(managerId);
+    }
+
+    @GetMapping("/pending/org/{managerId}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Page<TimesheetResponse>> getPendingTimesheetsForOrg(
+            @PathVariable Integer managerId,
+            Pageable pageable) {
+        return ResponseEntity.ok(timesheetService.getPendingTimesheetsForOrg(managerId, pageable));
+    }
+
+    @GetMapping("/pending/org/{managerId}/summary")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<Page<TimesheetSummaryResponse>> getPendingTimesheetSummariesForOrg(
+            @PathVariable Integer managerId,
+            Pageable pageable) {
+        return ResponseEntity.ok(timesheetService.getPendingTimesheetSummariesForOrg(managerId, pageable));
+    }
+
     @PostMapping("/user/{userId}")
     public ResponseEntity<TimesheetResponse> createOrUpdateTimesheet(
             @PathVariable Integer userId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TimesheetRequest request) {
+        TimesheetResponse response = timesheetService.createOrUpdateTimesheet(
+                userId, request, VersionETags.parseIfMatch(ifMatch));
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(timesheetService.createOrUpdateTimesheet(userId, request));
+                .eTag(VersionETags.toETag(response.version()))
+                .body(response);
+    }
+
+    /**
+     * Saves several weeks in one round trip. Weeks are validated individually and
+     * reported per week; per-week versions replace the If-Match header.
+     */
+    @PostMapping("/user/{userId}/batch")
+    public ResponseEntity<TimesheetBatchResponse> upsertTimesheets(
+            @PathVariable Integer userId,
+            @Valid @RequestBody TimesheetBatchRequest request) {
+        return ResponseEntity.ok(timesheetService.upsertTimesheets(userId, request));
     }
 
     @PostMapping("/{id}/submit")
-    public ResponseEntity<TimesheetResponse> submitTimesheet(@PathVariable Integer id) {
-        return ResponseEntity.ok(timesheetService.submitTimesheet(id));
+    public ResponseEntity<TimesheetResponse> submitTimesheet(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TimesheetResponse response = timesheetService.submitTimesheet(id, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.toETag(response.version())).body(response);
     }
 
     @PostMapping("/{id}/approval")
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
     public ResponseEntity<TimesheetResponse> approveOrRejectTimesheet(
             @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody TimesheetApprovalRequest request) {
-        return ResponseEntity.ok(timesheetService.approveOrRejectTimesheet(id, request));
+        TimesheetResponse response = timesheetService.approveOrRejectTimesheet(
+                id, request, VersionETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(VersionETags.toETag(response.version())).body(response);
+    }
+
+    @PostMapping("/approval/bulk")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<TimesheetBulkApprovalResponse> bulkApproveOrRejectTimesheets(
+            Authentication authentication,
+            @Valid @RequestBody TimesheetBulkApprovalRequest request) {
+        return ResponseEntity.ok(timesheetService.bulkApproveOrRejectTimesheets(authentication.getName(), request));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTimesheet(@PathVariable Integer id) {
-        timesheetService.deleteTimesheet(id);
+    public ResponseEntity<Void> deleteTimesheet(
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        timesheetService.deleteTimesheet(id, VersionETags.parseIfMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
 }
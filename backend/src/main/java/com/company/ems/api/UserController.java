@@ -1,23 +1,30 @@
 package com.company.ems.api;
 
+import com.company.ems.api.dto.user.OrgHoursRollupResponse;
 import com.company.ems.api.dto.user.UserRequest;
 import com.company.ems.api.dto.user.UserResponse;
+import com.company.ems.config.VersionedResource;
+import com.company.ems.domain.ResourceType;
 import com.company.ems.service.UserService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/users")
 @RequiredArgsConstructor
+@Observed
 public class UserController {
 
     private final UserService userService;
@@ -29,6 +36,7 @@ public class UserController {
     }
 
     @GetMapping("/me")
+    @VersionedResource(ResourceType.USERS)
     public ResponseEntity<UserResponse> getCurrentUser(Authentication authentication) {
         String email = authentication.getName();
         return ResponseEntity.ok(userService.getUserByEmail(email));
@@ -46,6 +54,21 @@ public class UserController {
         return ResponseEntity.ok(userService.getDirectReports(id));
     }
 
+    @GetMapping("/{id}/org")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<Page<UserResponse>> getOrgMembers(@PathVariable Integer id, Pageable pageable) {
+        return ResponseEntity.ok(userService.getOrgMembers(id, pageable));
+    }
+
+    @GetMapping("/{id}/org/hours")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<OrgHoursRollupResponse> getOrgHoursRollup(
+            @PathVariable Integer id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(userService.getOrgHoursRollup(id, startDate, endDate));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<UserResponse> createUser(@Valid @RequestBody UserRequest request) {
@@ -0,0 +1,34 @@
+package com.company.ems.api;
+
+/**
+ * Maps entity versions to strong ETags and back from {@code If-Match} headers.
+ */
+final class VersionETags {
+
+    private VersionETags() {
+    }
+
+    static String toETag(Long version) {
+        return "\"" + (version != null ? version : 0) + "\"";
+    }
+
+    /**
+     * Returns the version named by an {@code If-Match} header, or {@code null}
+     * when the header is absent or {@code *} (no precondition on the version).
+     */
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must contain a version ETag");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.ems.api.dto.forecast;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record CapacityForecastResponse(
+        LocalDate fromWeek,
+        int weeks,
+        int historyWeeks,
+        LocalDateTime generatedAt,
+        BigDecimal billableHours,
+        BigDecimal revenue,
+        List<ForecastWeekResponse> totals,
+        List<ProjectForecastResponse> projects,
+        List<UserCapacityResponse> users
+) {}
@@ -0,0 +1,10 @@
+package com.company.ems.api.dto.forecast;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record ForecastWeekResponse(
+        LocalDate weekStartDate,
+        BigDecimal billableHours,
+        BigDecimal revenue
+) {}
@@ -0,0 +1,14 @@
+package com.company.ems.api.dto.forecast;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ProjectForecastResponse(
+        Integer projectId,
+        String projectName,
+        String clientName,
+        int assignedUsers,
+        BigDecimal billableHours,
+        BigDecimal revenue,
+        List<ForecastWeekResponse> weeks
+) {}
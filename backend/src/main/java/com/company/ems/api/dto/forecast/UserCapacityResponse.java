@@ -0,0 +1,17 @@
+package com.company.ems.api.dto.forecast;
+
+import java.math.BigDecimal;
+
+/**
+ * Weekly figures for one user. Demand is the sum of the user's per-project
+ * forecasts; the billable forecast is demand capped at capacity.
+ */
+public record UserCapacityResponse(
+        Integer userId,
+        String userName,
+        int projectCount,
+        BigDecimal demandHours,
+        BigDecimal forecastHours,
+        BigDecimal capacityHours,
+        BigDecimal utilization
+) {}
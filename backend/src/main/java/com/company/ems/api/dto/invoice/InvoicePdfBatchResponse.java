@@ -0,0 +1,11 @@
+package com.company.ems.api.dto.invoice;
+
+import java.time.YearMonth;
+
+public record InvoicePdfBatchResponse(
+        YearMonth month,
+        int invoiceCount,
+        int alreadyRendered,
+        int queued,
+        int deferred
+) {}
@@ -16,6 +16,7 @@ public record InvoiceResponse(
         BigDecimal totalAmount,
         BigDecimal amountPaid,
         BigDecimal balanceDue,
-        List<InvoiceLineItemResponse> lineItems
+        List<InvoiceLineItemResponse> lineItems,
+        Long version
 ) {}
 
@@ -0,0 +1,21 @@
+package com.company.ems.api.dto.project;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ProjectAssignmentBulkRequest(
+        @NotEmpty(message = "At least one project ID is required")
+        @Size(max = MAX_PROJECTS, message = "At most 500 projects can be processed per request")
+        List<@NotNull Integer> projectIds,
+
+        @NotEmpty(message = "At least one user ID is required")
+        @Size(max = MAX_USERS, message = "At most 1000 users can be processed per request")
+        List<@NotNull Integer> userIds
+) {
+
+    public static final int MAX_PROJECTS = 500;
+    public static final int MAX_USERS = 1000;
+}
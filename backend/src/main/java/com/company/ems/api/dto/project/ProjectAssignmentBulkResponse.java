@@ -0,0 +1,7 @@
+package com.company.ems.api.dto.project;
+
+public record ProjectAssignmentBulkResponse(
+        int projectCount,
+        int userCount,
+        int changedCount
+) {}
@@ -0,0 +1,25 @@
+package com.company.ems.api.dto.ratecard;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RateCardRequest(
+        @NotNull(message = "Project ID is required")
+        Integer projectId,
+
+        Integer userId,
+
+        String jobTitle,
+
+        @NotNull(message = "Rate is required")
+        @Positive(message = "Rate must be positive")
+        BigDecimal rate,
+
+        @NotNull(message = "Effective from date is required")
+        LocalDate effectiveFrom,
+
+        LocalDate effectiveTo
+) {}
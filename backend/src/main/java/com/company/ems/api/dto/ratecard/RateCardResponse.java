@@ -0,0 +1,16 @@
+package com.company.ems.api.dto.ratecard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record RateCardResponse(
+        Integer id,
+        Integer projectId,
+        String projectName,
+        Integer userId,
+        String userName,
+        String jobTitle,
+        BigDecimal rate,
+        LocalDate effectiveFrom,
+        LocalDate effectiveTo
+) {}
@@ -0,0 +1,9 @@
+package com.company.ems.api.dto.search;
+
+public record SearchResultResponse(
+        SearchResultType type,
+        Integer id,
+        String label,
+        String detail,
+        double score
+) {}
@@ -0,0 +1,7 @@
+package com.company.ems.api.dto.search;
+
+public enum SearchResultType {
+    CLIENT,
+    PROJECT,
+    USER
+}
@@ -0,0 +1,10 @@
+package com.company.ems.api.dto.timesheet;
+
+import com.company.ems.domain.TimesheetStatus;
+
+public record TimesheetApprovalResult(
+        Integer timesheetId,
+        boolean success,
+        TimesheetStatus status,
+        String message
+) {}
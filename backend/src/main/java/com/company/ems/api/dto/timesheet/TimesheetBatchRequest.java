@@ -0,0 +1,14 @@
+package com.company.ems.api.dto.timesheet;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TimesheetBatchRequest(
+        @NotEmpty(message = "At least one week is required")
+        @Size(max = 53, message = "At most 53 weeks can be saved per request")
+        List<@Valid @NotNull TimesheetWeekRequest> weeks
+) {}
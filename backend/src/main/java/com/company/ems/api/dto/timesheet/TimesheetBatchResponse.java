@@ -0,0 +1,9 @@
+package com.company.ems.api.dto.timesheet;
+
+import java.util.List;
+
+public record TimesheetBatchResponse(
+        int savedCount,
+        int failedCount,
+        List<TimesheetWeekResult> results
+) {}
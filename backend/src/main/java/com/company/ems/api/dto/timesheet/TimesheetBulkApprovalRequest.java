@@ -0,0 +1,18 @@
+package com.company.ems.api.dto.timesheet;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record TimesheetBulkApprovalRequest(
+        @NotEmpty(message = "At least one timesheet ID is required")
+        @Size(max = 500, message = "At most 500 timesheets can be processed per request")
+        List<@NotNull Integer> timesheetIds,
+
+        @NotNull(message = "Approved flag is required")
+        Boolean approved,
+
+        String comments
+) {}
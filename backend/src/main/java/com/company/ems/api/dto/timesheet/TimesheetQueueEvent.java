@@ -0,0 +1,30 @@
+package com.company.ems.api.dto.timesheet;
+
+import com.company.ems.domain.TimesheetStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Change to a manager's approval queue, pushed over the pending-timesheet stream.
+ * Carries only list-level fields; entries are fetched from {@code GET /timesheets/{id}}.
+ */
+public record TimesheetQueueEvent(
+        TimesheetQueueEventType type,
+        Integer timesheetId,
+        Integer managerId,
+        Integer userId,
+        String userName,
+        LocalDate weekStartDate,
+        TimesheetStatus status,
+        BigDecimal totalHours,
+        Long version,
+        LocalDateTime occurredAt
+) {
+
+    public static TimesheetQueueEvent resync(Integer managerId) {
+        return new TimesheetQueueEvent(TimesheetQueueEventType.RESYNC, null, managerId,
+                null, null, null, null, null, null, LocalDateTime.now());
+    }
+}
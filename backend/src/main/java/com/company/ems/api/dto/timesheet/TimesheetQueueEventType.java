@@ -0,0 +1,9 @@
+package com.company.ems.api.dto.timesheet;
+
+public enum TimesheetQueueEventType {
+    SUBMITTED,
+    APPROVED,
+    REJECTED,
+    /** Events were dropped for this subscriber; the client should refetch the queue. */
+    RESYNC
+}
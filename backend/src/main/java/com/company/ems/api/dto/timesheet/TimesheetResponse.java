@@ -17,6 +17,7 @@ public record TimesheetResponse(
         LocalDateTime approvedAt,
         String rejectionComments,
         List<TimeEntryResponse> timeEntries,
-        BigDecimal totalHours
+        BigDecimal totalHours,
+        Long version
 ) {}
 
@@ -0,0 +1,19 @@
+package com.company.ems.api.dto.timesheet;
+
+import com.company.ems.domain.TimesheetStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TimesheetSummaryResponse(
+        Integer id,
+        Integer userId,
+        String userName,
+        LocalDate weekStartDate,
+        TimesheetStatus status,
+        LocalDateTime submittedAt,
+        LocalDateTime approvedAt,
+        BigDecimal totalHours,
+        Long version
+) {}
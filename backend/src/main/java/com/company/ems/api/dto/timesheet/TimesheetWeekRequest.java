@@ -0,0 +1,22 @@
+package com.company.ems.api.dto.timesheet;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One week of a batch upsert. {@code version} plays the role of If-Match for
+ * this week: when set, the week is only saved if the stored timesheet still has
+ * that version.
+ */
+public record TimesheetWeekRequest(
+        @NotNull(message = "Week start date is required")
+        LocalDate weekStartDate,
+
+        Long version,
+
+        @Valid
+        List<TimeEntryRequest> timeEntries
+) {}
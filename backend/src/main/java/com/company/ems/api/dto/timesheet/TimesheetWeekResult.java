@@ -0,0 +1,10 @@
+package com.company.ems.api.dto.timesheet;
+
+import java.time.LocalDate;
+
+public record TimesheetWeekResult(
+        LocalDate weekStartDate,
+        boolean success,
+        TimesheetResponse timesheet,
+        String message
+) {}
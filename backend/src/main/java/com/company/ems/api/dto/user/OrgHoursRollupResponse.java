@@ -0,0 +1,14 @@
+package com.company.ems.api.dto.user;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record OrgHoursRollupResponse(
+        Integer managerId,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal totalHours,
+        BigDecimal billableHours,
+        List<OrgMemberHoursResponse> members
+) {}
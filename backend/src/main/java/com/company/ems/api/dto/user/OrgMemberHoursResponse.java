@@ -0,0 +1,10 @@
+package com.company.ems.api.dto.user;
+
+import java.math.BigDecimal;
+
+public record OrgMemberHoursResponse(
+        Integer userId,
+        String userName,
+        BigDecimal totalHours,
+        BigDecimal billableHours
+) {}
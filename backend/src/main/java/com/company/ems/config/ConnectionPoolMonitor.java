@@ -0,0 +1,104 @@
+package com.company.ems.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DataSourceUnwrapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Samples every Hikari pool and publishes a saturation signal next to Hikari's
+ * own meters. A pool is flagged once threads have been waiting for a connection,
+ * or utilization has stayed at or above the threshold, for several consecutive
+ * samples; a single busy sample does not trip it.
+ */
+@Slf4j
+@Component
+public class ConnectionPoolMonitor {
+
+    private final List<PoolState> pools;
+    private final double utilizationThreshold;
+    private final int saturatedAfterSamples;
+
+    public ConnectionPoolMonitor(List<DataSource> dataSources,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.datasource.pool.utilization-threshold:0.9}") double utilizationThreshold,
+                                 @Value("${app.datasource.pool.saturated-after-samples:3}") int saturatedAfterSamples) {
+        this.utilizationThreshold = utilizationThreshold;
+        this.saturatedAfterSamples = saturatedAfterSamples;
+        // The exposed datasource may be a routing or tracing wrapper around the pools
+        this.pools = dataSources.stream()
+                .map(dataSource -> DataSourceUnwrapper.unwrap(dataSource, HikariConfigMXBean.class, HikariDataSource.class))
+                .filter(Objects::nonNull)
+                .distinct()
+                .map(PoolState::new)
+                .collect(Collectors.toList());
+
+        for (PoolState pool : pools) {
+            Gauge.builder("ems.datasource.pool.utilization", pool, state -> state.utilization)
+                    .description("Share of the pool's maximum size in use at the last sample")
+                    .tag("pool", pool.name())
+                    .register(meterRegistry);
+            Gauge.builder("ems.datasource.pool.saturated", pool, state -> state.saturated ? 1 : 0)
+                    .description("1 while the pool is saturated, 0 otherwise")
+                    .tag("pool", pool.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.pool.sample-interval-ms:5000}")
+    public void sample() {
+        for (PoolState pool : pools) {
+            HikariPoolMXBean mxBean = pool.dataSource.getHikariPoolMXBean();
+            if (mxBean == null) {
+                // Pool not started yet
+                continue;
+            }
+
+            int active = mxBean.getActiveConnections();
+            int waiting = mxBean.getThreadsAwaitingConnection();
+            pool.utilization = (double) active / pool.dataSource.getMaximumPoolSize();
+
+            boolean busy = waiting > 0 || pool.utilization >= utilizationThreshold;
+            pool.busySamples = busy ? pool.busySamples + 1 : 0;
+
+            boolean saturated = pool.busySamples >= saturatedAfterSamples;
+            if (saturated != pool.saturated) {
+                if (saturated) {
+                    log.warn("Connection pool '{}' saturated: {}/{} active, {} waiting",
+                            pool.name(), active, pool.dataSource.getMaximumPoolSize(), waiting);
+                } else {
+                    log.info("Connection pool '{}' recovered: {}/{} active",
+                            pool.name(), active, pool.dataSource.getMaximumPoolSize());
+                }
+                pool.saturated = saturated;
+            }
+        }
+    }
+
+    private static final class PoolState {
+
+        private final HikariDataSource dataSource;
+        private volatile double utilization;
+        private volatile boolean saturated;
+        private int busySamples;
+
+        private PoolState(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private String name() {
+            return dataSource.getPoolName();
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.company.ems.config;
 
 import com.company.ems.domain.User;
 import com.company.ems.domain.UserRole;
+import com.company.ems.repository.UserHierarchyRepository;
 import com.company.ems.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 @Component
 @RequiredArgsConstructor
@@ -15,9 +18,15 @@ import org.springframework.stereotype.Component;
 public class DataInitializer implements CommandLineRunner {
 
     private final UserRepository userRepository;
+    private final UserHierarchyRepository userHierarchyRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // BCrypt-encoding on every boot is slow and pointless outside development
+    @Value("${app.bootstrap.reset-admin-password:true}")
+    private boolean resetAdminPassword;
+
     @Override
+    @Transactional
     public void run(String... args) {
         // Create default admin user if it doesn't exist
         if (!userRepository.existsByEmail("admin@example.com")) {
@@ -30,9 +39,10 @@ public class DataInitializer implements CommandLineRunner {
                     .isActive(true)
                     .build();
 
-            userRepository.save(admin);
+            admin = userRepository.save(admin);
+            userHierarchyRepository.insertSelf(admin.getId());
             log.info("Default admin user created: admin@example.com / admin123");
-        } else {
+        } else if (resetAdminPassword) {
             // Update existing admin user with correct password hash
             userRepository.findByEmail("admin@example.com").ifPresent(user -> {
                 String correctHash = passwordEncoder.encode("admin123");
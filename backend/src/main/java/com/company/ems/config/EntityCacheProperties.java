@@ -0,0 +1,25 @@
+package com.company.ems.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Size and lifetime of each Hibernate second-level cache region, keyed by region
+ * name. A region without a {@code ttl} is only evicted by size.
+ */
+@ConfigurationProperties(prefix = "app.entity-cache")
+public record EntityCacheProperties(
+        Map<String, Region> regions
+) {
+
+    public record Region(
+            long maxSize,
+            Duration ttl
+    ) {}
+
+    public EntityCacheProperties {
+        regions = regions != null ? Map.copyOf(regions) : Map.of();
+    }
+}
@@ -0,0 +1,44 @@
+package com.company.ems.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Configuration
+public class FastStartConfig {
+
+    /**
+     * Scheduled methods are only registered when their bean is created, so a lazy
+     * bean's jobs would never run. Keeps such beans eager under lazy initialization.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter scheduledBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> {
+            AtomicBoolean scheduled = new AtomicBoolean();
+            ReflectionUtils.doWithMethods(beanType,
+                    method -> scheduled.set(true),
+                    method -> method.isAnnotationPresent(Scheduled.class));
+            return scheduled.get();
+        };
+    }
+
+    /**
+     * Under AOT the Flyway beans are fixed at build time, so spring.flyway.enabled
+     * no longer removes them at run time. Reading it here keeps it effective for
+     * the database-less CDS training run (see application-cds-training.yml).
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (environment.getProperty("spring.flyway.enabled", Boolean.class, true)) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.company.ems.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class InvoicePdfConfig {
+
+    /**
+     * Dedicated pool so bulk rendering cannot starve request threads. Rendering
+     * is CPU-bound, so the default size follows the core count.
+     */
+    @Bean(name = "invoiceRenderExecutor", destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor invoiceRenderExecutor(
+            @Value("${app.invoice-pdf.threads:0}") int threads,
+            @Value("${app.invoice-pdf.queue-capacity:1000}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("invoice-pdf-");
+        executor.initialize();
+        return executor;
+    }
+}
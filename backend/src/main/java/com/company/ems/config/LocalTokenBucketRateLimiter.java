@@ -0,0 +1,49 @@
+package com.company.ems.config;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets, one per key. Each bucket is a single
+ * {@link AtomicLong} holding its theoretical arrival time (the GCRA form of a
+ * token bucket), so acquiring a token is one CAS with no locking; the
+ * concurrent map keeps contention striped across principals.
+ */
+public class LocalTokenBucketRateLimiter implements RateLimiter {
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    @Override
+    public Decision tryAcquire(String bucketKey, long capacity, Duration period) {
+        long periodNanos = period.toNanos();
+        long intervalNanos = Math.max(1, periodNanos / capacity);
+        AtomicLong bucket = buckets.computeIfAbsent(bucketKey, key -> new AtomicLong(System.nanoTime()));
+
+        while (true) {
+            long now = System.nanoTime();
+            long current = bucket.get();
+            long arrival = Math.max(current, now);
+            long next = arrival + intervalNanos;
+            long backlog = next - now;
+            if (backlog > periodNanos) {
+                return new Decision(false, 0, Duration.ofNanos(backlog - periodNanos));
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return new Decision(true, (periodNanos - backlog) / intervalNanos, Duration.ZERO);
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have fully refilled; they are indistinguishable from new ones.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+}
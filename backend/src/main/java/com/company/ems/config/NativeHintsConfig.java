@@ -0,0 +1,151 @@
+package com.company.ems.config;
+
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import org.springframework.aop.SpringProxy;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.DecoratingProxy;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.core.type.filter.RegexPatternTypeFilter;
+import org.springframework.data.projection.TargetAware;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Reflection, proxy and resource hints for the native image. Spring AOT infers
+ * most of these from bean definitions; this covers what it cannot see: DTOs
+ * nested inside generic responses, projection proxies, JJWT's reflective
+ * service loading, the cache providers, Flyway scripts and the document
+ * templates. Hints are only consulted at AOT build time and have no effect on
+ * the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.EmsRuntimeHints.class)
+public class NativeHintsConfig {
+
+    private static final String BASE_PACKAGE = "com.company.ems";
+
+    static class EmsRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Jackson (de)serializes every DTO record, including ones only reachable through Page<T> or List<T>
+            scan(new RegexPatternTypeFilter(Pattern.compile(".*")), BASE_PACKAGE + ".api.dto")
+                    .forEach(className -> hints.reflection().registerType(TypeReference.of(className),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.INVOKE_PUBLIC_METHODS,
+                            MemberCategory.DECLARED_FIELDS));
+
+            ClassPathScanningCandidateComponentProvider entities = scanner();
+            entities.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            entities.addIncludeFilter(new AnnotationTypeFilter(Embeddable.class));
+            entities.findCandidateComponents(BASE_PACKAGE + ".domain")
+                    .forEach(candidate -> hints.reflection().registerType(
+                            TypeReference.of(candidate.getBeanClassName()), MemberCategory.values()));
+
+            // Interface projections returned by repository queries are backed by JDK proxies
+            for (String projection : new String[] {
+                    "ForecastAssignment", "OrgMemberHours", "RateCardEntry", "SearchHit",
+                    "TimesheetApprovalCandidate", "TimesheetSummary", "WeeklyProjectHours"}) {
+                TypeReference type = TypeReference.of(BASE_PACKAGE + ".repository." + projection);
+                hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+                hints.proxies().registerJdkProxy(type,
+                        TypeReference.of(TargetAware.class),
+                        TypeReference.of(SpringProxy.class),
+                        TypeReference.of(DecoratingProxy.class));
+            }
+
+            // Per-request statement accounting proxies the JDBC types it hands out
+            for (Class<?> jdbcType : new Class<?>[] {
+                    Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class, ResultSet.class}) {
+                hints.proxies().registerJdkProxy(jdbcType);
+            }
+
+            // JJWT instantiates its builders, algorithm registries and serializers by class name
+            classesUnder(classLoader, "io/jsonwebtoken/impl", "io/jsonwebtoken/jackson")
+                    .forEach(className -> hints.reflection().registerType(TypeReference.of(className),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.INVOKE_DECLARED_METHODS));
+            hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+            // Second-level cache: provider and region factory are loaded by name, and Caffeine
+            // picks its generated cache and node classes reflectively by feature set
+            hints.reflection().registerType(
+                    TypeReference.of("com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(
+                    TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            classesUnder(classLoader, "com/github/benmanes/caffeine/cache")
+                    .forEach(className -> hints.reflection().registerType(TypeReference.of(className),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                            MemberCategory.DECLARED_FIELDS));
+            hints.resources().registerPattern("reference.conf");
+
+            hints.resources().registerPattern("db/migration/*.sql");
+            hints.resources().registerPattern("org/flywaydb/core/internal/*.txt");
+            hints.resources().registerPattern("META-INF/services/org.flywaydb.*");
+
+            hints.resources().registerPattern("templates/*.html");
+            hints.resources().registerPattern("org/apache/pdfbox/resources/**");
+            hints.resources().registerPattern("com/openhtmltopdf/**");
+        }
+
+        private static List<String> scan(RegexPatternTypeFilter filter, String basePackage) {
+            ClassPathScanningCandidateComponentProvider scanner = scanner();
+            scanner.addIncludeFilter(filter);
+            List<String> classNames = new ArrayList<>();
+            scanner.findCandidateComponents(basePackage)
+                    .forEach(candidate -> classNames.add(candidate.getBeanClassName()));
+            return classNames;
+        }
+
+        private static ClassPathScanningCandidateComponentProvider scanner() {
+            // Records and enums are not "components"; accept any concrete or abstract type
+            return new ClassPathScanningCandidateComponentProvider(false) {
+                @Override
+                protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                    return true;
+                }
+            };
+        }
+
+        private static List<String> classesUnder(ClassLoader classLoader, String... packagePaths) {
+            PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+            List<String> classNames = new ArrayList<>();
+            try {
+                for (String packagePath : packagePaths) {
+                    for (Resource resource : resolver.getResources("classpath*:" + packagePath + "/**/*.class")) {
+                        String url = resource.getURL().toString();
+                        String className = url.substring(url.lastIndexOf(packagePath), url.length() - ".class".length())
+                                .replace('/', '.');
+                        if (!className.contains("$")) {
+                            classNames.add(className);
+                        }
+                    }
+                }
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return classNames;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.company.ems.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token-bucket limits per route. Each rule allows {@code capacity} requests per
+ * {@code period} for every principal, refilling continuously; the first rule
+ * matching the request method and path applies.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        List<Rule> rules
+) {
+
+    public record Rule(
+            String name,
+            String method,
+            String path,
+            long capacity,
+            Duration period
+    ) {}
+
+    public RateLimitProperties {
+        rules = rules != null ? List.copyOf(rules) : List.of();
+    }
+}
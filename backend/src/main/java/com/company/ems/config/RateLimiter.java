@@ -0,0 +1,15 @@
+package com.company.ems.config;
+
+import java.time.Duration;
+
+/**
+ * Backend holding the token buckets. The default implementation keeps them in
+ * process memory; a multi-node deployment can register a shared-store
+ * implementation as a bean to replace it.
+ */
+public interface RateLimiter {
+
+    record Decision(boolean allowed, long remaining, Duration retryAfter) {}
+
+    Decision tryAcquire(String bucketKey, long capacity, Duration period);
+}
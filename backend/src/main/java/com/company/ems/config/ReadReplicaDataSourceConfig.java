@@ -0,0 +1,85 @@
+package com.company.ems.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Replaces the auto-configured datasource with primary and replica pools behind
+ * a read-only routing datasource. Enabled with {@code app.datasource.replica.enabled};
+ * pointing the replica URL at the primary database works as a local stand-in.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(DataSourceProperties primaryProperties,
+                                              @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                              ReplicaDataSourceProperties replicaProperties) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        // Same driver tuning, timeouts and leak detection as the primary pool
+        dataSource.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+        dataSource.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+        dataSource.setIdleTimeout(primaryDataSource.getIdleTimeout());
+        dataSource.setMaxLifetime(primaryDataSource.getMaxLifetime());
+        dataSource.setLeakDetectionThreshold(primaryDataSource.getLeakDetectionThreshold());
+        dataSource.setDriverClassName(primaryProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaProperties.url());
+        dataSource.setUsername(replicaProperties.username() != null
+                ? replicaProperties.username() : primaryProperties.determineUsername());
+        dataSource.setPassword(replicaProperties.password() != null
+                ? replicaProperties.password() : primaryProperties.determinePassword());
+        dataSource.setReadOnly(true);
+        if (replicaProperties.maximumPoolSize() != null) {
+            dataSource.setMaximumPoolSize(replicaProperties.maximumPoolSize());
+        }
+        // Do not fail startup if the replica is down; reads fall back to the primary
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                         @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+                                                         MeterRegistry meterRegistry) {
+        return new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource,
+                                               ReplicaDataSourceProperties replicaProperties,
+                                               MeterRegistry meterRegistry) {
+        Duration maxLag = replicaProperties.maxLag() != null ? replicaProperties.maxLag() : Duration.ofSeconds(5);
+        return new ReplicaLagMonitor(routingDataSource, maxLag, meterRegistry);
+    }
+}
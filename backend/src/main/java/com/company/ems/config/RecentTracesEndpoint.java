@@ -0,0 +1,88 @@
+package com.company.ems.config;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * /actuator/traces: the spans held by {@link InMemorySpanStore}, grouped by
+ * trace, slowest trace first. Answers 404 while the store is switched off.
+ */
+@Endpoint(id = "traces")
+public class RecentTracesEndpoint {
+
+    private final InMemorySpanStore spanStore;
+    private final boolean enabled;
+
+    public RecentTracesEndpoint(InMemorySpanStore spanStore, boolean enabled) {
+        this.spanStore = spanStore;
+        this.enabled = enabled;
+    }
+
+    @ReadOperation
+    public List<TraceView> traces() {
+        if (!enabled) {
+            return null;
+        }
+        Map<String, List<SpanData>> byTrace = spanStore.getFinishedSpans().stream()
+                .collect(Collectors.groupingBy(SpanData::getTraceId, LinkedHashMap::new, Collectors.toList()));
+        return byTrace.entrySet().stream()
+                .map(entry -> toView(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(TraceView::durationMs).reversed())
+                .collect(Collectors.toList());
+    }
+
+    @ReadOperation
+    public TraceView trace(@Selector String traceId) {
+        if (!enabled) {
+            return null;
+        }
+        List<SpanData> spans = spanStore.getFinishedSpans().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .collect(Collectors.toList());
+        return spans.isEmpty() ? null : toView(traceId, spans);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        spanStore.clear();
+    }
+
+    private static TraceView toView(String traceId, List<SpanData> spans) {
+        List<SpanView> views = spans.stream()
+                .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .map(span -> new SpanView(
+                        span.getSpanId(),
+                        span.getParentSpanId(),
+                        span.getName(),
+                        millis(span.getEndEpochNanos() - span.getStartEpochNanos()),
+                        span.getAttributes().asMap().entrySet().stream()
+                                .collect(Collectors.toMap(
+                                        attribute -> attribute.getKey().getKey(),
+                                        attribute -> String.valueOf(attribute.getValue()),
+                                        (first, second) -> first,
+                                        LinkedHashMap::new))))
+                .collect(Collectors.toList());
+        long start = spans.stream().mapToLong(SpanData::getStartEpochNanos).min().orElse(0);
+        long end = spans.stream().mapToLong(SpanData::getEndEpochNanos).max().orElse(0);
+        return new TraceView(traceId, millis(end - start), views);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public record TraceView(String traceId, double durationMs, List<SpanView> spans) {}
+
+    public record SpanView(String spanId, String parentSpanId, String name, double durationMs,
+                           Map<String, String> attributes) {}
+}
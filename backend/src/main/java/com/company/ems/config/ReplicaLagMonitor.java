@@ -0,0 +1,52 @@
+package com.company.ems.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Periodically measures replication lag on the replica and toggles routing.
+ * A replica that is not in recovery (e.g. the same instance used as a local
+ * stand-in) or has replayed everything it received reports zero lag.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() " +
+            "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final ReadReplicaRoutingDataSource routingDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    private volatile double lastLagSeconds;
+
+    public ReplicaLagMonitor(ReadReplicaRoutingDataSource routingDataSource, Duration maxLag,
+                             MeterRegistry meterRegistry) {
+        this.routingDataSource = routingDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(routingDataSource.getReplica());
+        this.maxLag = maxLag;
+        Gauge.builder("ems.datasource.replica.lag", this, monitor -> monitor.lastLagSeconds)
+                .description("Replication lag of the read replica in seconds")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval-ms:10000}")
+    public void checkLag() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(LAG_QUERY, Double.class);
+            lastLagSeconds = lag != null ? lag : 0;
+            routingDataSource.setReplicaAvailable(lastLagSeconds * 1000 <= maxLag.toMillis());
+        } catch (Exception ex) {
+            log.warn("Replica lag check failed: {}", ex.getMessage());
+            routingDataSource.setReplicaAvailable(false);
+        }
+    }
+}
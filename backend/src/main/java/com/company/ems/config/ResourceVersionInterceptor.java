@@ -0,0 +1,68 @@
+package com.company.ems.config;
+
+import com.company.ems.domain.ResourceType;
+import com.company.ems.service.ResourceVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class ResourceVersionInterceptor implements HandlerInterceptor {
+
+    private static final String CACHE_CONTROL = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    private final ResourceVersionService resourceVersionService;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || !"GET".equals(request.getMethod())) {
+            return true;
+        }
+
+        VersionedResource versioned = handlerMethod.getMethodAnnotation(VersionedResource.class);
+        if (versioned == null) {
+            return true;
+        }
+
+        String etag = computeETag(request, resourceVersionService.getVersions(versioned.value()));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+
+        // Sets the ETag header, and the 304 status when If-None-Match matches
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+
+    private String computeETag(HttpServletRequest request, Map<ResourceType, Long> versions) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        StringBuilder key = new StringBuilder()
+                .append(request.getRequestURI())
+                .append('?').append(request.getQueryString())
+                .append('|').append(authentication != null ? authentication.getName() : "");
+        versions.forEach((resource, version) -> key.append('|').append(resource).append('=').append(version));
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.toString().getBytes(StandardCharsets.UTF_8));
+            return "W/\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
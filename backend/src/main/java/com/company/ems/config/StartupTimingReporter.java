@@ -0,0 +1,70 @@
+package com.company.ems.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reports how long the JVM took to become ready and to complete its first
+ * request, as log lines and as the ems.startup.* gauges (milliseconds since
+ * JVM start).
+ */
+@Slf4j
+@Component
+public class StartupTimingReporter extends OncePerRequestFilter {
+
+    private final AtomicLong readyMs = new AtomicLong(-1);
+    private final AtomicLong firstRequestMs = new AtomicLong(-1);
+
+    public StartupTimingReporter(MeterRegistry meterRegistry) {
+        Gauge.builder("ems.startup.ready.time", readyMs, AtomicLong::get)
+                .description("Milliseconds from JVM start to application ready")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("ems.startup.first.request.time", firstRequestMs, AtomicLong::get)
+                .description("Milliseconds from JVM start to the first completed request")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        readyMs.set(ManagementFactory.getRuntimeMXBean().getUptime());
+        log.info("Application ready {} ms after JVM start", readyMs.get());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return firstRequestMs.get() >= 0;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+            if (firstRequestMs.compareAndSet(-1, uptime)) {
+                log.info("First request ({} {}) completed {} ms after JVM start",
+                        request.getMethod(), request.getRequestURI(), uptime);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.company.ems.config;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC work done on behalf of one HTTP request: statements executed, rows read
+ * and time spent in the driver, in total and per distinct SQL string. Bound to
+ * the request thread by {@link StatementBudgetFilter}; connections opened while
+ * a budget is bound report into it via {@link StatementTracingDataSource}.
+ */
+public final class StatementBudget {
+
+    /** Distinct SQL strings tracked per request; anything beyond only counts toward the totals. */
+    private static final int MAX_TRACKED_STATEMENTS = 200;
+
+    private static final ThreadLocal<StatementBudget> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, StatementStats> bySql = new LinkedHashMap<>();
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    static StatementBudget current() {
+        return CURRENT.get();
+    }
+
+    static StatementBudget open() {
+        StatementBudget budget = new StatementBudget();
+        CURRENT.set(budget);
+        return budget;
+    }
+
+    static void close() {
+        CURRENT.remove();
+    }
+
+    synchronized void recordExecution(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        StatementStats stats = stats(sql);
+        if (stats != null) {
+            stats.executions++;
+            stats.nanos += elapsedNanos;
+        }
+    }
+
+    synchronized void recordRow(String sql) {
+        rows++;
+        StatementStats stats = stats(sql);
+        if (stats != null) {
+            stats.rows++;
+        }
+    }
+
+    public synchronized long getStatements() {
+        return statements;
+    }
+
+    public synchronized long getRows() {
+        return rows;
+    }
+
+    public synchronized long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * The statements that cost the most, by total time and then by execution count,
+     * so both a single slow query and an N+1 loop of fast ones surface.
+     */
+    public synchronized List<StatementStats> top(int limit) {
+        List<StatementStats> sorted = new ArrayList<>(bySql.values());
+        sorted.sort(Comparator.comparingLong(StatementStats::getNanos)
+                .thenComparingLong(StatementStats::getExecutions)
+                .reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    private StatementStats stats(String sql) {
+        if (sql == null) {
+            return null;
+        }
+        StatementStats stats = bySql.get(sql);
+        if (stats == null && bySql.size() < MAX_TRACKED_STATEMENTS) {
+            stats = new StatementStats(sql);
+            bySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    public static final class StatementStats {
+
+        private final String sql;
+        private long executions;
+        private long rows;
+        private long nanos;
+
+        private StatementStats(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.company.ems.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(StatementBudgetProperties.class)
+public class StatementBudgetConfig {
+
+    /**
+     * Wraps the datasource JPA and JdbcTemplate use, for both the statement budget
+     * and JDBC spans. The pools underneath stay visible to pool metrics, which
+     * unwrap delegating datasources.
+     */
+    @Bean
+    public static BeanPostProcessor statementTracingDataSourcePostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return new StatementTracingDataSource(dataSource, observationRegistry::getIfAvailable);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Runs ahead of the security chain so the user lookup done while
+     * authenticating counts toward the request. Always registered: the filter
+     * checks app.statement-budget.enabled per request, because an AOT build
+     * fixes bean conditions at build time.
+     */
+    @Bean
+    public FilterRegistrationBean<StatementBudgetFilter> statementBudgetFilter(StatementBudgetProperties properties,
+                                                                               MeterRegistry meterRegistry) {
+        FilterRegistrationBean<StatementBudgetFilter> registration =
+                new FilterRegistrationBean<>(new StatementBudgetFilter(properties, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,147 @@
+package com.company.ems.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binds a {@link StatementBudget} to each request and reports it: as X-Db-*
+ * response headers, as ems.http.db.* meters per route, and as a warning with
+ * the most expensive statements when the request is slow or runs more
+ * statements than expected (typically an N+1 loop).
+ */
+@Slf4j
+public class StatementBudgetFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Db-Statements";
+    public static final String ROWS_HEADER = "X-Db-Rows";
+    public static final String TIME_HEADER = "X-Db-Time-Ms";
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 300;
+
+    private final StatementBudgetProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementBudgetFilter(StatementBudgetProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.enabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        StatementBudget budget = StatementBudget.open();
+        long start = System.nanoTime();
+        BudgetHeaderResponse headerResponse = properties.headers()
+                ? new BudgetHeaderResponse(response, budget) : null;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            StatementBudget.close();
+            if (headerResponse != null) {
+                headerResponse.writeHeaders();
+            }
+            report(request, budget, System.nanoTime() - start);
+        }
+    }
+
+    private void report(HttpServletRequest request, StatementBudget budget, long elapsedNanos) {
+        if (budget.getStatements() == 0) {
+            return;
+        }
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNMATCHED";
+
+        if (properties.metrics()) {
+            DistributionSummary.builder("ems.http.db.statements")
+                    .description("JDBC statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(budget.getStatements());
+            DistributionSummary.builder("ems.http.db.rows")
+                    .description("Result set rows read per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(budget.getRows());
+            Timer.builder("ems.http.db.time")
+                    .description("Time spent executing JDBC statements per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", route)
+                    .register(meterRegistry)
+                    .record(budget.getNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        boolean slow = elapsedNanos >= properties.slowRequest().toNanos();
+        if (slow || budget.getStatements() >= properties.statementWarning()) {
+            StringBuilder message = new StringBuilder();
+            for (StatementBudget.StatementStats stats : budget.top(properties.topStatements())) {
+                String sql = stats.getSql();
+                if (sql.length() > MAX_LOGGED_SQL_LENGTH) {
+                    sql = sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+                }
+                message.append(String.format("%n  %dx, %d rows, %d ms: %s", stats.getExecutions(), stats.getRows(),
+                        TimeUnit.NANOSECONDS.toMillis(stats.getNanos()), sql));
+            }
+            log.warn("{} {} {} ({}): {} statements, {} rows, {} ms in database, {} ms total; top statements:{}",
+                    slow ? "Slow request" : "Statement-heavy request",
+                    request.getMethod(), request.getRequestURI(), route,
+                    budget.getStatements(), budget.getRows(),
+                    TimeUnit.NANOSECONDS.toMillis(budget.getNanos()),
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), message);
+        }
+    }
+
+    /**
+     * Headers must be set before the body commits the response, so they are
+     * written on commit or, for responses still buffered, when the chain returns.
+     */
+    private static final class BudgetHeaderResponse extends OnCommittedResponseWrapper {
+
+        private final StatementBudget budget;
+        private boolean written;
+
+        private BudgetHeaderResponse(HttpServletResponse response, StatementBudget budget) {
+            super(response);
+            this.budget = budget;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        private void writeHeaders() {
+            HttpServletResponse response = (HttpServletResponse) getResponse();
+            if (written || response.isCommitted()) {
+                return;
+            }
+            written = true;
+            response.setHeader(STATEMENTS_HEADER, Long.toString(budget.getStatements()));
+            response.setHeader(ROWS_HEADER, Long.toString(budget.getRows()));
+            response.setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(budget.getNanos())));
+        }
+    }
+}
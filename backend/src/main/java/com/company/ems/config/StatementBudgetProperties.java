@@ -0,0 +1,28 @@
+package com.company.ems.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-request SQL accounting. {@code headers} adds the X-Db-* totals to every
+ * response, {@code metrics} records them per route, and requests slower than
+ * {@code slowRequest} or running more than {@code statementWarning} statements
+ * are logged with their {@code topStatements} most expensive queries.
+ */
+@ConfigurationProperties(prefix = "app.statement-budget")
+public record StatementBudgetProperties(
+        boolean enabled,
+        boolean headers,
+        boolean metrics,
+        Duration slowRequest,
+        int statementWarning,
+        int topStatements
+) {
+
+    public StatementBudgetProperties {
+        slowRequest = slowRequest != null ? slowRequest : Duration.ofSeconds(1);
+        statementWarning = statementWarning > 0 ? statementWarning : 50;
+        topStatements = topStatements > 0 ? topStatements : 5;
+    }
+}
@@ -0,0 +1,192 @@
+package com.company.ems.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Reports statement executions, timings and rows read into the calling thread's
+ * {@link StatementBudget}, and records each execution as an ems.jdbc.statement
+ * observation (a child span) when the caller is itself being observed.
+ * Connections obtained with neither a budget nor an observation in scope
+ * (scheduled jobs, background executors) are returned untouched, so only
+ * request threads pay for the proxies.
+ */
+public class StatementTracingDataSource extends DelegatingDataSource {
+
+    private final Supplier<ObservationRegistry> observationRegistry;
+
+    public StatementTracingDataSource(DataSource targetDataSource, Supplier<ObservationRegistry> observationRegistry) {
+        super(targetDataSource);
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trace(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trace(super.getConnection(username, password));
+    }
+
+    private Connection trace(Connection connection) {
+        StatementBudget budget = StatementBudget.current();
+        ObservationRegistry registry = observationRegistry.get();
+        if (registry != null && registry.getCurrentObservation() == null) {
+            registry = null;
+        }
+        if (budget == null && registry == null) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection, budget, registry));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(
+                StatementTracingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        // Hibernate keeps statements and result sets in hash maps; proxies need their own identity
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return method.invoke(target, args);
+            }
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+
+    private record ConnectionHandler(Connection target, StatementBudget budget, ObservationRegistry registry)
+            implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTracingDataSource.invoke(proxy, target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0], this));
+            }
+            if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0], this));
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler(statement, null, this));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final StatementBudget budget;
+        private final ObservationRegistry registry;
+        private String sql;
+
+        private StatementHandler(Statement target, String sql, ConnectionHandler connection) {
+            this.target = target;
+            this.sql = sql;
+            this.budget = connection.budget();
+            this.registry = connection.registry();
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                // Plain statements carry their SQL on the execute call
+                if (args != null && args.length > 0 && args[0] instanceof String text) {
+                    sql = text;
+                }
+                Observation observation = observe();
+                long start = System.nanoTime();
+                try {
+                    return traceResultSet(StatementTracingDataSource.invoke(proxy, target, method, args));
+                } catch (Throwable ex) {
+                    if (observation != null) {
+                        observation.error(ex);
+                    }
+                    throw ex;
+                } finally {
+                    if (budget != null) {
+                        budget.recordExecution(sql, System.nanoTime() - start);
+                    }
+                    if (observation != null) {
+                        observation.stop();
+                    }
+                }
+            }
+            if (name.equals("getResultSet")) {
+                return traceResultSet(StatementTracingDataSource.invoke(proxy, target, method, args));
+            }
+            return StatementTracingDataSource.invoke(proxy, target, method, args);
+        }
+
+        private Observation observe() {
+            if (registry == null) {
+                return null;
+            }
+            return Observation.createNotStarted("ems.jdbc.statement", registry)
+                    .contextualName(operation(sql))
+                    .lowCardinalityKeyValue("db.system", "postgresql")
+                    .highCardinalityKeyValue("db.statement", sql != null ? sql : "batch")
+                    .start();
+        }
+
+        private Object traceResultSet(Object result) {
+            if (budget != null && result instanceof ResultSet resultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler(resultSet, sql, budget));
+            }
+            return result;
+        }
+
+        /** Span name from the leading SQL keyword, e.g. "select", so names stay low-cardinality. */
+        private static String operation(String sql) {
+            if (sql == null) {
+                return "jdbc batch";
+            }
+            String trimmed = sql.stripLeading();
+            int end = 0;
+            while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+                end++;
+            }
+            return end > 0 ? "jdbc " + trimmed.substring(0, end).toLowerCase(Locale.ROOT) : "jdbc statement";
+        }
+    }
+
+    private record ResultSetHandler(ResultSet target, String sql, StatementBudget budget) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = StatementTracingDataSource.invoke(proxy, target, method, args);
+            if (Boolean.TRUE.equals(result) && method.getName().equals("next")) {
+                budget.recordRow(sql);
+            }
+            return result;
+        }
+    }
+}
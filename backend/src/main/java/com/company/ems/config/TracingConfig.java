@@ -0,0 +1,59 @@
+package com.company.ems.config;
+
+import io.micrometer.observation.ObservationPredicate;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+
+@Configuration
+public class TracingConfig {
+
+    /** Turns @Observed controllers and services into spans nested under the request span. */
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry) {
+        return new ObservedAspect(observationRegistry);
+    }
+
+    /** Health probes and metric scrapes would otherwise dominate the sampled traces. */
+    @Bean
+    public ObservationPredicate actuatorObservationFilter() {
+        return (name, context) -> !(context instanceof ServerRequestObservationContext serverContext
+                && serverContext.getCarrier().getRequestURI().startsWith("/actuator"));
+    }
+
+    /**
+     * The in-memory store is always wired and app.tracing.in-memory.enabled is
+     * read when the beans are created, not as a bean condition: an AOT build
+     * fixes conditions at build time, which would pin the prod default.
+     */
+    @Configuration
+    static class InMemoryTracingConfig {
+
+        @Bean
+        public InMemorySpanStore inMemorySpanStore(@Value("${app.tracing.in-memory.capacity:5000}") int capacity) {
+            return new InMemorySpanStore(capacity);
+        }
+
+        /**
+         * Exports synchronously as each span ends, unlike the batching processor
+         * used for collectors, so spans are visible as soon as a request returns.
+         * A no-op when the store is switched off.
+         */
+        @Bean
+        public SpanProcessor inMemorySpanProcessor(InMemorySpanStore inMemorySpanStore,
+                                                   @Value("${app.tracing.in-memory.enabled:false}") boolean enabled) {
+            return enabled ? SimpleSpanProcessor.create(inMemorySpanStore.exporter()) : SpanProcessor.composite();
+        }
+
+        @Bean
+        public RecentTracesEndpoint recentTracesEndpoint(InMemorySpanStore inMemorySpanStore,
+                                                         @Value("${app.tracing.in-memory.enabled:false}") boolean enabled) {
+            return new RecentTracesEndpoint(inMemorySpanStore, enabled);
+        }
+    }
+}
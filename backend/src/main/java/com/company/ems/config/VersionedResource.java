@@ -0,0 +1,20 @@
+package com.company.ems.config;
+
+import com.company.ems.domain.ResourceType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response depends only on the given resources,
+ * the request URL and the caller. {@link ResourceVersionInterceptor} answers
+ * it with an ETag and returns 304 before the handler runs when unchanged.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface VersionedResource {
+
+    ResourceType[] value();
+}
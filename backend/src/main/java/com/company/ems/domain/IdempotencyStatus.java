@@ -0,0 +1,6 @@
+package com.company.ems.domain;
+
+public enum IdempotencyStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
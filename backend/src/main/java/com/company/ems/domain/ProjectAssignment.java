@@ -2,10 +2,14 @@ package com.company.ems.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "project_assignments",
        uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "project_id"}))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project-assignments")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,10 @@
+package com.company.ems.domain;
+
+public enum ResourceType {
+    CLIENTS,
+    PROJECTS,
+    PROJECT_ASSIGNMENTS,
+    USERS,
+    RATE_CARDS,
+    WEEKLY_HOURS
+}
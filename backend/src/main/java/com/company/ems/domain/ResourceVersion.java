@@ -0,0 +1,21 @@
+package com.company.ems.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "resource_versions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResourceVersion {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    private ResourceType resource;
+
+    @Column(nullable = false)
+    private Long version;
+}
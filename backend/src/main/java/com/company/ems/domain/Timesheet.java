@@ -42,6 +42,9 @@ public class Timesheet {
     @Column(name = "rejection_comments")
     private String rejectionComments;
 
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "timesheet", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<TimeEntry> timeEntries = new ArrayList<>();
@@ -0,0 +1,25 @@
+package com.company.ems.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Closure table row of the manager hierarchy: {@code ancestor} manages
+ * {@code descendant} directly or indirectly, {@code depth} levels up.
+ * Rows are maintained by {@link com.company.ems.service.UserService}.
+ */
+@Entity
+@Table(name = "user_hierarchy")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserHierarchy {
+
+    @EmbeddedId
+    private UserHierarchyId id;
+
+    @Column(nullable = false)
+    private Integer depth;
+}
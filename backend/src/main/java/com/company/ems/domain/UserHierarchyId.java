@@ -0,0 +1,22 @@
+package com.company.ems.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+import java.io.Serializable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class UserHierarchyId implements Serializable {
+
+    @Column(name = "ancestor_id", nullable = false)
+    private Integer ancestorId;
+
+    @Column(name = "descendant_id", nullable = false)
+    private Integer descendantId;
+}
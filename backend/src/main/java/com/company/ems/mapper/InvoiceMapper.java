@@ -4,8 +4,12 @@ import com.company.ems.api.dto.invoice.InvoiceLineItemResponse;
 import com.company.ems.api.dto.invoice.InvoiceResponse;
 import com.company.ems.domain.Invoice;
 import com.company.ems.domain.InvoiceLineItem;
+import com.company.ems.domain.Payment;
+import com.company.ems.service.InvoiceDocument;
 import org.springframework.stereotype.Component;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
@@ -24,6 +28,24 @@ public class InvoiceMapper {
                 invoice.getBalanceDue(),
                 invoice.getLineItems().stream()
                         .map(this::toLineItemResponse)
+                        .collect(Collectors.toList()),
+                invoice.getVersion()
+        );
+    }
+
+    public InvoiceDocument toDocument(Invoice invoice, List<Payment> payments) {
+        return new InvoiceDocument(
+                toResponse(invoice),
+                invoice.getClient().getContactPerson(),
+                invoice.getClient().getContactEmail(),
+                invoice.getClient().getAddress(),
+                payments.stream()
+                        .sorted(Comparator.comparing(Payment::getPaymentDate))
+                        .map(payment -> new InvoiceDocument.PaymentLine(
+                                payment.getPaymentDate(),
+                                payment.getAmount(),
+                                payment.getMethod(),
+                                payment.getNotes()))
                         .collect(Collectors.toList())
         );
     }
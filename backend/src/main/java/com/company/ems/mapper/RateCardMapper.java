@@ -0,0 +1,23 @@
+package com.company.ems.mapper;
+
+import com.company.ems.api.dto.ratecard.RateCardResponse;
+import com.company.ems.domain.RateCard;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RateCardMapper {
+
+    public RateCardResponse toResponse(RateCard rateCard) {
+        return new RateCardResponse(
+                rateCard.getId(),
+                rateCard.getProject().getId(),
+                rateCard.getProject().getName(),
+                rateCard.getUser() != null ? rateCard.getUser().getId() : null,
+                rateCard.getUser() != null ? rateCard.getUser().getFullName() : null,
+                rateCard.getJobTitle(),
+                rateCard.getRate(),
+                rateCard.getEffectiveFrom(),
+                rateCard.getEffectiveTo()
+        );
+    }
+}
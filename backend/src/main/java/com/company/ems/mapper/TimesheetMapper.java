@@ -2,12 +2,18 @@ package com.company.ems.mapper;
 
 import com.company.ems.api.dto.timesheet.TimeEntryRequest;
 import com.company.ems.api.dto.timesheet.TimeEntryResponse;
+import com.company.ems.api.dto.timesheet.TimesheetQueueEvent;
+import com.company.ems.api.dto.timesheet.TimesheetQueueEventType;
 import com.company.ems.api.dto.timesheet.TimesheetResponse;
+import com.company.ems.api.dto.timesheet.TimesheetSummaryResponse;
 import com.company.ems.domain.TimeEntry;
 import com.company.ems.domain.Timesheet;
+import com.company.ems.domain.User;
+import com.company.ems.repository.TimesheetSummary;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
 @Component
@@ -30,7 +36,42 @@ public class TimesheetMapper {
                 timesheet.getTimeEntries().stream()
                         .map(this::toTimeEntryResponse)
                         .collect(Collectors.toList()),
-                totalHours
+                totalHours,
+                timesheet.getVersion()
+        );
+    }
+
+    public TimesheetSummaryResponse toSummaryResponse(TimesheetSummary summary) {
+        return new TimesheetSummaryResponse(
+                summary.getId(),
+                summary.getUserId(),
+                summary.getFirstName() + " " + summary.getLastName(),
+                summary.getWeekStartDate(),
+                summary.getStatus(),
+                summary.getSubmittedAt(),
+                summary.getApprovedAt(),
+                summary.getTotalHours(),
+                summary.getVersion()
+        );
+    }
+
+    public TimesheetQueueEvent toQueueEvent(Timesheet timesheet, TimesheetQueueEventType type) {
+        User manager = timesheet.getUser().getManager();
+        BigDecimal totalHours = timesheet.getTimeEntries().stream()
+                .map(TimeEntry::getHours)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        return new TimesheetQueueEvent(
+                type,
+                timesheet.getId(),
+                manager != null ? manager.getId() : null,
+                timesheet.getUser().getId(),
+                timesheet.getUser().getFullName(),
+                timesheet.getWeekStartDate(),
+                timesheet.getStatus(),
+                totalHours,
+                timesheet.getVersion(),
+                LocalDateTime.now()
         );
     }
 
@@ -4,13 +4,34 @@ import com.company.ems.domain.Client;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Integer> {
 
-    Page<Client> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    // Matches the lower(name) trigram index. The argument must already be lowercased
+    // and LIKE-escaped (see LikePatterns); it is not a derived query.
+    @Query("SELECT c FROM Client c " +
+           "WHERE LOWER(c.name) LIKE CONCAT('%', :escapedLowerName, '%') ESCAPE '\\'")
+    Page<Client> findByLowerNameContaining(@Param("escapedLowerName") String escapedLowerName,
+                                           Pageable pageable);
 
     boolean existsByName(String name);
+
+    @Query(value = "SELECT c.id AS id, c.name AS label, c.contact_person AS detail, " +
+                   "CAST(similarity(lower(c.name), :query) " +
+                   "+ CASE WHEN lower(c.name) LIKE :pattern || '%' THEN 1 ELSE 0 END AS double precision) AS score " +
+                   "FROM clients c " +
+                   "WHERE lower(c.name) LIKE '%' || :pattern || '%' OR lower(c.name) % :query " +
+                   "ORDER BY score DESC, c.name " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<SearchHit> searchByName(@Param("query") String query,
+                                 @Param("pattern") String pattern,
+                                 @Param("limit") int limit);
 }
 
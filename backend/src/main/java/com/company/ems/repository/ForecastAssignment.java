@@ -0,0 +1,26 @@
+package com.company.ems.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * An active user assigned to an active project, with what the forecast needs to
+ * name the pair and resolve its rate.
+ */
+public interface ForecastAssignment {
+
+    Integer getProjectId();
+
+    String getProjectName();
+
+    String getClientName();
+
+    BigDecimal getDefaultBillableRate();
+
+    Integer getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    String getJobTitle();
+}
@@ -0,0 +1,71 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.IdempotencyRecord;
+import com.company.ems.domain.IdempotencyRecordId;
+import com.company.ems.domain.IdempotencyStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, IdempotencyRecordId> {
+
+    /**
+     * Claims the key for the caller. Returns 1 when this request owns the key,
+     * 0 when another request already claimed it.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "idempotency_keys"))
+    @Query(value = "INSERT INTO idempotency_keys " +
+                   "(principal, idempotency_key, request_hash, status, created_at, claimed_at, expires_at) " +
+                   "VALUES (:principal, :key, :requestHash, 'IN_PROGRESS', :now, :now, :expiresAt) " +
+                   "ON CONFLICT (principal, idempotency_key) DO NOTHING",
+           nativeQuery = true)
+    int claim(@Param("principal") String principal,
+              @Param("key") String key,
+              @Param("requestHash") String requestHash,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    /**
+     * Takes over an IN_PROGRESS claim whose lease ran out. Only succeeds while the
+     * claim is still the one the caller saw, so of several callers exactly one wins.
+     */
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.claimedAt = :now, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :id AND r.status = 'IN_PROGRESS' AND r.claimedAt = :staleClaimedAt")
+    int takeOver(@Param("id") IdempotencyRecordId id,
+                 @Param("staleClaimedAt") LocalDateTime staleClaimedAt,
+                 @Param("now") LocalDateTime now,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.status = :status, " +
+           "r.responseStatus = :responseStatus, " +
+           "r.responseContentType = :contentType, " +
+           "r.responseHeaders = :headers, " +
+           "r.responseBody = :body " +
+           "WHERE r.id = :id AND r.claimedAt = :claimedAt")
+    int complete(@Param("id") IdempotencyRecordId id,
+                 @Param("claimedAt") LocalDateTime claimedAt,
+                 @Param("status") IdempotencyStatus status,
+                 @Param("responseStatus") Integer responseStatus,
+                 @Param("contentType") String contentType,
+                 @Param("headers") String headers,
+                 @Param("body") byte[] body);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.id = :id AND r.claimedAt = :claimedAt")
+    int release(@Param("id") IdempotencyRecordId id, @Param("claimedAt") LocalDateTime claimedAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
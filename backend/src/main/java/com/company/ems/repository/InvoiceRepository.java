@@ -4,33 +4,52 @@ import com.company.ems.domain.Invoice;
 import com.company.ems.domain.InvoiceStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
 @Repository
-public interface InvoiceRepository extends JpaRepository<Invoice, Integer> {
+public interface InvoiceRepository extends JpaRepository<Invoice, Integer>, JpaSpecificationExecutor<Invoice> {
 
     Page<Invoice> findByClientId(Integer clientId, Pageable pageable);
 
     Page<Invoice> findByStatus(InvoiceStatus status, Pageable pageable);
 
-    @Query("SELECT i FROM Invoice i WHERE " +
-           "(:clientId IS NULL OR i.client.id = :clientId) AND " +
-           "(:status IS NULL OR i.status = :status) AND " +
-           "(:startDate IS NULL OR i.issueDate >= :startDate) AND " +
-           "(:endDate IS NULL OR i.issueDate <= :endDate)")
-    Page<Invoice> findByFilters(@Param("clientId") Integer clientId,
-                                @Param("status") InvoiceStatus status,
-                                @Param("startDate") LocalDate startDate,
-                                @Param("endDate") LocalDate endDate,
-                                Pageable pageable);
+    default Page<Invoice> findByFilters(Integer clientId,
+                                        InvoiceStatus status,
+                                        LocalDate startDate,
+                                        LocalDate endDate,
+                                        Pageable pageable) {
+        return findAll(InvoiceSpecifications.withFilters(clientId, status, startDate, endDate), pageable);
+    }
+
+    @EntityGraph(attributePaths = {"client", "lineItems", "lineItems.project", "lineItems.user"})
+    List<Invoice> findByIssueDateBetweenOrderById(LocalDate startDate, LocalDate endDate);
 
     @Query("SELECT i FROM Invoice i WHERE i.status = 'OVERDUE'")
     List<Invoice> findOverdueInvoices();
+
+    /**
+     * Adds a payment to amount_paid in a single statement, so concurrent payments
+     * cannot overwrite each other, and marks the invoice paid once fully covered.
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Invoice i SET " +
+           "i.amountPaid = COALESCE(i.amountPaid, 0) + :amount, " +
+           "i.status = CASE WHEN COALESCE(i.amountPaid, 0) + :amount >= i.totalAmount " +
+           "THEN :paidStatus ELSE i.status END, " +
+           "i.version = i.version + 1 " +
+           "WHERE i.id = :id")
+    int addPayment(@Param("id") Integer id,
+                   @Param("amount") BigDecimal amount,
+                   @Param("paidStatus") InvoiceStatus paidStatus);
 }
 
@@ -0,0 +1,41 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.Invoice;
+import com.company.ems.domain.InvoiceStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds invoice searches from only the filters actually supplied, so each
+ * combination gets its own index-friendly plan instead of one generic
+ * {@code (:x IS NULL OR col = :x)} query.
+ */
+public final class InvoiceSpecifications {
+
+    private InvoiceSpecifications() {
+    }
+
+    public static Specification<Invoice> withFilters(Integer clientId, InvoiceStatus status,
+                                                     LocalDate startDate, LocalDate endDate) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (clientId != null) {
+                predicates.add(cb.equal(root.get("client").get("id"), clientId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            if (startDate != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("issueDate"), startDate));
+            }
+            if (endDate != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("issueDate"), endDate));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.company.ems.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-user hour totals aggregated in SQL for an org rollup.
+ */
+public interface OrgMemberHours {
+
+    Integer getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    BigDecimal getTotalHours();
+
+    BigDecimal getBillableHours();
+}
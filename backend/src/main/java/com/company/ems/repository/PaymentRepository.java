@@ -7,6 +7,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,6 +15,8 @@ public interface PaymentRepository extends JpaRepository<Payment, Integer> {
 
     List<Payment> findByInvoiceId(Integer invoiceId);
 
+    List<Payment> findByInvoiceIdInOrderByPaymentDate(Collection<Integer> invoiceIds);
+
     @Query("SELECT p FROM Payment p " +
            "WHERE p.invoice.client.id = :clientId " +
            "AND p.paymentDate BETWEEN :startDate AND :endDate")
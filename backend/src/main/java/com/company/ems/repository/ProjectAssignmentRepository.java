@@ -1,27 +1,95 @@
 package com.company.ems.repository;
 
 import com.company.ems.domain.ProjectAssignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProjectAssignmentRepository extends JpaRepository<ProjectAssignment, Integer> {
 
+    // (user, project) is the assignment's natural key; both lookups are served from
+    // the query cache, which Hibernate invalidates on any write to project_assignments.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ProjectAssignment> findByUserIdAndProjectId(Integer userId, Integer projectId);
 
     List<ProjectAssignment> findByUserId(Integer userId);
 
     List<ProjectAssignment> findByProjectId(Integer projectId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByUserIdAndProjectId(Integer userId, Integer projectId);
 
     @Query("SELECT pa FROM ProjectAssignment pa " +
            "WHERE pa.project.id = :projectId")
     List<ProjectAssignment> findAllByProjectId(@Param("projectId") Integer projectId);
-}
 
+    @Query("SELECT p.id AS projectId, p.name AS projectName, c.name AS clientName, " +
+           "p.defaultBillableRate AS defaultBillableRate, u.id AS userId, " +
+           "u.firstName AS firstName, u.lastName AS lastName, u.jobTitle AS jobTitle " +
+           "FROM ProjectAssignment pa " +
+           "JOIN pa.project p " +
+           "JOIN p.client c " +
+           "JOIN pa.user u " +
+           "WHERE p.status = 'ACTIVE' AND u.isActive = true " +
+           "ORDER BY p.id, u.id")
+    List<ForecastAssignment> findActiveForForecast();
+
+    // The set-based statements below are native for ON CONFLICT and declare their table so
+    // Hibernate only invalidates the assignment cache regions, not the whole second-level cache.
+
+    /**
+     * Assigns every given user that exists to the project; existing assignments are left alone.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_assignments"))
+    @Query(value = "INSERT INTO project_assignments (user_id, project_id) " +
+                   "SELECT u.id, :projectId FROM users u WHERE u.id IN (:userIds) " +
+                   "ON CONFLICT (user_id, project_id) DO NOTHING",
+           nativeQuery = true)
+    int insertMissing(@Param("projectId") Integer projectId, @Param("userIds") Collection<Integer> userIds);
+
+    /**
+     * Assigns every given user to every given project in one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_assignments"))
+    @Query(value = "INSERT INTO project_assignments (user_id, project_id) " +
+                   "SELECT u.id, p.id FROM users u CROSS JOIN projects p " +
+                   "WHERE u.id IN (:userIds) AND p.id IN (:projectIds) " +
+                   "ON CONFLICT (user_id, project_id) DO NOTHING",
+           nativeQuery = true)
+    int insertMissingForProjects(@Param("projectIds") Collection<Integer> projectIds,
+                                 @Param("userIds") Collection<Integer> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_assignments"))
+    @Query(value = "DELETE FROM project_assignments " +
+                   "WHERE project_id = :projectId AND user_id NOT IN (:userIds)",
+           nativeQuery = true)
+    int deleteByProjectIdAndUserIdNotIn(@Param("projectId") Integer projectId,
+                                        @Param("userIds") Collection<Integer> userIds);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_assignments"))
+    @Query(value = "DELETE FROM project_assignments WHERE project_id = :projectId",
+           nativeQuery = true)
+    int deleteAllForProject(@Param("projectId") Integer projectId);
+
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "project_assignments"))
+    @Query(value = "DELETE FROM project_assignments " +
+                   "WHERE project_id IN (:projectIds) AND user_id IN (:userIds)",
+           nativeQuery = true)
+    int deleteByProjectIdInAndUserIdIn(@Param("projectIds") Collection<Integer> projectIds,
+                                       @Param("userIds") Collection<Integer> userIds);
+}
@@ -9,11 +9,15 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Integer> {
 
+    @Query("SELECT p.id FROM Project p WHERE p.id IN :ids")
+    List<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
     List<Project> findByClientId(Integer clientId);
 
     Page<Project> findByStatus(ProjectStatus status, Pageable pageable);
@@ -29,5 +33,17 @@ public interface ProjectRepository extends JpaRepository<Project, Integer> {
 
     @Query("SELECT p FROM Project p WHERE p.status = 'ACTIVE'")
     List<Project> findAllActiveProjects();
+
+    @Query(value = "SELECT p.id AS id, p.name AS label, c.name AS detail, " +
+                   "CAST(similarity(lower(p.name), :query) " +
+                   "+ CASE WHEN lower(p.name) LIKE :pattern || '%' THEN 1 ELSE 0 END AS double precision) AS score " +
+                   "FROM projects p JOIN clients c ON c.id = p.client_id " +
+                   "WHERE lower(p.name) LIKE '%' || :pattern || '%' OR lower(p.name) % :query " +
+                   "ORDER BY score DESC, p.name " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<SearchHit> searchByName(@Param("query") String query,
+                                 @Param("pattern") String pattern,
+                                 @Param("limit") int limit);
 }
 
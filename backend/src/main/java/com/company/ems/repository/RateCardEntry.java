@@ -0,0 +1,19 @@
+package com.company.ems.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface RateCardEntry {
+
+    Integer getProjectId();
+
+    Integer getUserId();
+
+    String getJobTitle();
+
+    BigDecimal getRate();
+
+    LocalDate getEffectiveFrom();
+
+    LocalDate getEffectiveTo();
+}
@@ -0,0 +1,25 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.RateCard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RateCardRepository extends JpaRepository<RateCard, Integer> {
+
+    @Query("SELECT r FROM RateCard r JOIN FETCH r.project LEFT JOIN FETCH r.user " +
+           "WHERE r.project.id = :projectId ORDER BY r.effectiveFrom")
+    List<RateCard> findByProjectId(@Param("projectId") Integer projectId);
+
+    /**
+     * Projection used to build the in-memory rate index without loading associations.
+     */
+    @Query("SELECT r.project.id AS projectId, u.id AS userId, r.jobTitle AS jobTitle, r.rate AS rate, " +
+           "r.effectiveFrom AS effectiveFrom, r.effectiveTo AS effectiveTo " +
+           "FROM RateCard r LEFT JOIN r.user u")
+    List<RateCardEntry> findAllEntries();
+}
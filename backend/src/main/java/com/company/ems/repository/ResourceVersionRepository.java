@@ -0,0 +1,17 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.ResourceType;
+import com.company.ems.domain.ResourceVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ResourceVersionRepository extends JpaRepository<ResourceVersion, ResourceType> {
+
+    @Modifying
+    @Query("UPDATE ResourceVersion v SET v.version = v.version + 1 WHERE v.resource = :resource")
+    int increment(@Param("resource") ResourceType resource);
+}
@@ -0,0 +1,15 @@
+package com.company.ems.repository;
+
+/**
+ * Ranked row returned by the trigram search queries.
+ */
+public interface SearchHit {
+
+    Integer getId();
+
+    String getLabel();
+
+    String getDetail();
+
+    Double getScore();
+}
@@ -32,11 +32,36 @@ public interface TimeEntryRepository extends JpaRepository<TimeEntry, Integer> {
                                                             @Param("startDate") LocalDate startDate,
                                                             @Param("endDate") LocalDate endDate);
 
+    @Query("SELECT u.id AS userId, u.firstName AS firstName, u.lastName AS lastName, " +
+           "SUM(te.hours) AS totalHours, " +
+           "SUM(CASE WHEN te.taskType = 'BILLABLE' THEN te.hours ELSE 0 END) AS billableHours " +
+           "FROM TimeEntry te " +
+           "JOIN te.timesheet ts " +
+           "JOIN ts.user u " +
+           "JOIN UserHierarchy h ON h.id.descendantId = u.id " +
+           "WHERE h.id.ancestorId = :managerId AND h.depth > 0 " +
+           "AND te.entryDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY u.id, u.firstName, u.lastName " +
+           "ORDER BY u.lastName, u.firstName")
+    List<OrgMemberHours> sumHoursByOrgManagerIdAndDateRange(@Param("managerId") Integer managerId,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate);
+
     @Query("SELECT te FROM TimeEntry te " +
            "WHERE te.project.id = :projectId " +
            "AND te.entryDate BETWEEN :startDate AND :endDate")
     List<TimeEntry> findByProjectIdAndDateRange(@Param("projectId") Integer projectId,
                                                 @Param("startDate") LocalDate startDate,
                                                 @Param("endDate") LocalDate endDate);
-}
 
+    // Reads the rollup created by V11 rather than time_entries, so a year of history
+    // costs one index range scan over a row per user, project and week.
+    @Query(value = "SELECT w.user_id AS \"userId\", w.project_id AS \"projectId\", " +
+                   "(w.week_start_date - :fromWeek) / 7 AS \"weekIndex\", " +
+                   "w.billable_hours AS \"billableHours\" " +
+                   "FROM weekly_project_hours w " +
+                   "WHERE w.week_start_date >= :fromWeek AND w.week_start_date < :toWeek",
+           nativeQuery = true)
+    List<WeeklyProjectHours> findWeeklyProjectHours(@Param("fromWeek") LocalDate fromWeek,
+                                                    @Param("toWeek") LocalDate toWeek);
+}
@@ -0,0 +1,18 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.TimesheetStatus;
+
+/**
+ * Minimal projection used to check approval eligibility without loading
+ * timesheets and their entries.
+ */
+public interface TimesheetApprovalCandidate {
+
+    Integer getId();
+
+    TimesheetStatus getStatus();
+
+    Integer getUserId();
+
+    Integer getManagerId();
+}
@@ -4,20 +4,28 @@ import com.company.ems.domain.Timesheet;
 import com.company.ems.domain.TimesheetStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TimesheetRepository extends JpaRepository<Timesheet, Integer> {
+public interface TimesheetRepository extends JpaRepository<Timesheet, Integer>, JpaSpecificationExecutor<Timesheet> {
 
     Optional<Timesheet> findByUserIdAndWeekStartDate(Integer userId, LocalDate weekStartDate);
 
+    @EntityGraph(attributePaths = {"timeEntries"})
+    List<Timesheet> findWithEntriesByUserIdAndWeekStartDateIn(Integer userId, Collection<LocalDate> weekStartDates);
+
     List<Timesheet> findByUserId(Integer userId);
 
     Page<Timesheet> findByUserId(Integer userId, Pageable pageable);
@@ -27,16 +35,65 @@ public interface TimesheetRepository extends JpaRepository<Timesheet, Integer> {
                                              @Param("status") TimesheetStatus status,
                                              Pageable pageable);
 
+    @Query(value = "SELECT t FROM Timesheet t JOIN UserHierarchy h ON h.id.descendantId = t.user.id " +
+                   "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND t.status = :status",
+           countQuery = "SELECT COUNT(t) FROM Timesheet t JOIN UserHierarchy h ON h.id.descendantId = t.user.id " +
+                        "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND t.status = :status")
+    Page<Timesheet> findByOrgManagerIdAndStatus(@Param("managerId") Integer managerId,
+                                                @Param("status") TimesheetStatus status,
+                                                Pageable pageable);
+
+    String SUMMARY_SELECT = "SELECT t.id AS id, u.id AS userId, u.firstName AS firstName, u.lastName AS lastName, " +
+                            "t.weekStartDate AS weekStartDate, t.status AS status, t.submittedAt AS submittedAt, " +
+                            "t.approvedAt AS approvedAt, t.version AS version, " +
+                            "COALESCE(SUM(e.hours), 0) AS totalHours " +
+                            "FROM Timesheet t JOIN t.user u LEFT JOIN t.timeEntries e ";
+
+    String SUMMARY_GROUP_BY = " GROUP BY t.id, u.id, u.firstName, u.lastName, t.weekStartDate, t.status, " +
+                              "t.submittedAt, t.approvedAt, t.version";
+
+    @Query(value = SUMMARY_SELECT + "WHERE u.id = :userId" + SUMMARY_GROUP_BY,
+           countQuery = "SELECT COUNT(t) FROM Timesheet t WHERE t.user.id = :userId")
+    Page<TimesheetSummary> findSummariesByUserId(@Param("userId") Integer userId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE u.manager.id = :managerId AND t.status = :status" + SUMMARY_GROUP_BY,
+           countQuery = "SELECT COUNT(t) FROM Timesheet t WHERE t.user.manager.id = :managerId AND t.status = :status")
+    Page<TimesheetSummary> findSummariesByManagerIdAndStatus(@Param("managerId") Integer managerId,
+                                                             @Param("status") TimesheetStatus status,
+                                                             Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "JOIN UserHierarchy h ON h.id.descendantId = u.id " +
+                   "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND t.status = :status" + SUMMARY_GROUP_BY,
+           countQuery = "SELECT COUNT(t) FROM Timesheet t JOIN UserHierarchy h ON h.id.descendantId = t.user.id " +
+                        "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND t.status = :status")
+    Page<TimesheetSummary> findSummariesByOrgManagerIdAndStatus(@Param("managerId") Integer managerId,
+                                                                @Param("status") TimesheetStatus status,
+                                                                Pageable pageable);
+
     @Query("SELECT t FROM Timesheet t WHERE t.status = :status")
     Page<Timesheet> findByStatus(@Param("status") TimesheetStatus status, Pageable pageable);
 
-    @Query("SELECT t FROM Timesheet t WHERE " +
-           "t.weekStartDate BETWEEN :startDate AND :endDate AND " +
-           "(:userId IS NULL OR t.user.id = :userId) AND " +
-           "(:status IS NULL OR t.status = :status)")
-    List<Timesheet> findByDateRangeAndFilters(@Param("startDate") LocalDate startDate,
-                                              @Param("endDate") LocalDate endDate,
-                                              @Param("userId") Integer userId,
-                                              @Param("status") TimesheetStatus status);
-}
+    default List<Timesheet> findByDateRangeAndFilters(LocalDate startDate,
+                                                      LocalDate endDate,
+                                                      Integer userId,
+                                                      TimesheetStatus status) {
+        return findAll(TimesheetSpecifications.inWeekRangeWithFilters(startDate, endDate, userId, status));
+    }
 
+    @Query("SELECT t.id AS id, t.status AS status, u.id AS userId, m.id AS managerId FROM Timesheet t " +
+           "JOIN t.user u LEFT JOIN u.manager m " +
+           "WHERE t.id IN :ids")
+    List<TimesheetApprovalCandidate> findApprovalCandidatesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Timesheet t SET t.status = :newStatus, " +
+           "t.approvedAt = :approvedAt, " +
+           "t.rejectionComments = :comments, " +
+           "t.version = t.version + 1 " +
+           "WHERE t.id IN :ids AND t.status = :currentStatus")
+    int updateStatusByIdInAndStatus(@Param("ids") Collection<Integer> ids,
+                                    @Param("currentStatus") TimesheetStatus currentStatus,
+                                    @Param("newStatus") TimesheetStatus newStatus,
+                                    @Param("approvedAt") LocalDateTime approvedAt,
+                                    @Param("comments") String comments);
+}
@@ -0,0 +1,34 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.Timesheet;
+import com.company.ems.domain.TimesheetStatus;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds timesheet range searches from only the filters actually supplied.
+ */
+public final class TimesheetSpecifications {
+
+    private TimesheetSpecifications() {
+    }
+
+    public static Specification<Timesheet> inWeekRangeWithFilters(LocalDate startDate, LocalDate endDate,
+                                                                  Integer userId, TimesheetStatus status) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.between(root.get("weekStartDate"), startDate, endDate));
+            if (userId != null) {
+                predicates.add(cb.equal(root.get("user").get("id"), userId));
+            }
+            if (status != null) {
+                predicates.add(cb.equal(root.get("status"), status));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.TimesheetStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One row per timesheet with its hours summed in SQL, for list screens that
+ * do not need the individual entries.
+ */
+public interface TimesheetSummary {
+
+    Integer getId();
+
+    Integer getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getWeekStartDate();
+
+    TimesheetStatus getStatus();
+
+    LocalDateTime getSubmittedAt();
+
+    LocalDateTime getApprovedAt();
+
+    BigDecimal getTotalHours();
+
+    Long getVersion();
+}
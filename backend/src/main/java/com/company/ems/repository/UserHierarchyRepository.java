@@ -0,0 +1,54 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.UserHierarchy;
+import com.company.ems.domain.UserHierarchyId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserHierarchyRepository extends JpaRepository<UserHierarchy, UserHierarchyId> {
+
+    @Query("SELECT COUNT(h) > 0 FROM UserHierarchy h " +
+           "WHERE h.id.ancestorId = :ancestorId AND h.id.descendantId = :descendantId")
+    boolean existsPath(@Param("ancestorId") Integer ancestorId,
+                       @Param("descendantId") Integer descendantId);
+
+    // Native statements invalidate every second-level cache region unless their
+    // tables are declared; these only ever touch user_hierarchy.
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_hierarchy"))
+    @Query(value = "INSERT INTO user_hierarchy (ancestor_id, descendant_id, depth) " +
+                   "VALUES (:userId, :userId, 0) ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int insertSelf(@Param("userId") Integer userId);
+
+    /**
+     * Removes every link from the user's current ancestors into the user's subtree,
+     * leaving the subtree intact as a detached tree rooted at the user.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_hierarchy"))
+    @Query(value = "DELETE FROM user_hierarchy " +
+                   "WHERE descendant_id IN (SELECT descendant_id FROM user_hierarchy WHERE ancestor_id = :userId) " +
+                   "AND ancestor_id NOT IN (SELECT descendant_id FROM user_hierarchy WHERE ancestor_id = :userId)",
+           nativeQuery = true)
+    int detachSubtree(@Param("userId") Integer userId);
+
+    /**
+     * Links the user's (detached) subtree under the manager and all of the manager's ancestors.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_hierarchy"))
+    @Query(value = "INSERT INTO user_hierarchy (ancestor_id, descendant_id, depth) " +
+                   "SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1 " +
+                   "FROM user_hierarchy sup CROSS JOIN user_hierarchy sub " +
+                   "WHERE sup.descendant_id = :managerId AND sub.ancestor_id = :userId",
+           nativeQuery = true)
+    int attachSubtree(@Param("userId") Integer userId, @Param("managerId") Integer managerId);
+}
@@ -5,15 +5,17 @@ import com.company.ems.domain.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Integer> {
+public interface UserRepository extends JpaRepository<User, Integer>, JpaSpecificationExecutor<User> {
 
     Optional<User> findByEmail(String email);
 
@@ -21,17 +23,43 @@ public interface UserRepository extends JpaRepository<User, Integer> {
 
     List<User> findByManagerId(Integer managerId);
 
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Integer> findIdsByIdIn(@Param("ids") Collection<Integer> ids);
+
     Page<User> findByIsActiveTrue(Pageable pageable);
 
     @Query("SELECT u FROM User u WHERE u.manager.id = :managerId AND u.isActive = true")
     List<User> findActiveDirectReportsByManagerId(@Param("managerId") Integer managerId);
 
-    @Query("SELECT u FROM User u WHERE " +
-           "(:role IS NULL OR u.role = :role) AND " +
-           "(:department IS NULL OR u.department = :department) AND " +
-           "u.isActive = true")
-    Page<User> findByFilters(@Param("role") UserRole role,
-                             @Param("department") String department,
-                             Pageable pageable);
+    @Query(value = "SELECT u FROM User u JOIN UserHierarchy h ON h.id.descendantId = u.id " +
+                   "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND u.isActive = true",
+           countQuery = "SELECT COUNT(h) FROM UserHierarchy h JOIN User u ON u.id = h.id.descendantId " +
+                        "WHERE h.id.ancestorId = :managerId AND h.depth > 0 AND u.isActive = true")
+    Page<User> findActiveOrgMembersByManagerId(@Param("managerId") Integer managerId, Pageable pageable);
+
+    default Page<User> findByFilters(UserRole role, String department, Pageable pageable) {
+        return findAll(UserSpecifications.activeWithFilters(role, department), pageable);
+    }
+
+    @Query(value = "SELECT u.id AS id, " +
+                   "coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '') AS label, " +
+                   "u.email AS detail, " +
+                   "CAST(GREATEST(" +
+                   "similarity(lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '')), :query), " +
+                   "similarity(lower(u.email), :query)) " +
+                   "+ CASE WHEN lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '')) LIKE :pattern || '%' " +
+                   "OR lower(u.email) LIKE :pattern || '%' THEN 1 ELSE 0 END AS double precision) AS score " +
+                   "FROM users u " +
+                   "WHERE u.is_active = true AND (" +
+                   "lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '')) LIKE '%' || :pattern || '%' " +
+                   "OR lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '')) % :query " +
+                   "OR lower(u.email) LIKE '%' || :pattern || '%' " +
+                   "OR lower(u.email) % :query) " +
+                   "ORDER BY score DESC, label " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<SearchHit> searchByNameOrEmail(@Param("query") String query,
+                                        @Param("pattern") String pattern,
+                                        @Param("limit") int limit);
 }
 
@@ -0,0 +1,32 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds active-user searches from only the filters actually supplied.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    public static Specification<User> activeWithFilters(UserRole role, String department) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+            if (role != null) {
+                predicates.add(cb.equal(root.get("role"), role));
+            }
+            if (department != null) {
+                predicates.add(cb.equal(root.get("department"), department));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.company.ems.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One row of the weekly_project_hours rollup. The week is returned as its offset,
+ * in weeks, from the start of the queried range.
+ */
+public interface WeeklyProjectHours {
+
+    Integer getUserId();
+
+    Integer getProjectId();
+
+    Integer getWeekIndex();
+
+    BigDecimal getBillableHours();
+}
@@ -5,6 +5,7 @@ import com.company.ems.api.dto.auth.LoginRequest;
 import com.company.ems.domain.User;
 import com.company.ems.repository.UserRepository;
 import com.company.ems.security.JwtService;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -16,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
+@Observed
 public class AuthService {
 
     private final AuthenticationManager authenticationManager;
@@ -0,0 +1,55 @@
+package com.company.ems.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for billing. Money is held as a {@code long} count of
+ * cents and hours as a {@code long} count of hundredths of an hour, matching the
+ * {@code NUMERIC(10,2)} columns, so accumulation over large entry sets does not
+ * allocate. Values cross back to {@link BigDecimal} only when written to an entity.
+ *
+ * <p>Rounding rules: inputs with more than two decimals and the product of hours
+ * and rate are rounded half-up (away from zero), the same rule PostgreSQL applies
+ * when storing into a scale-2 numeric column. Every overflow throws
+ * {@link ArithmeticException}.
+ */
+public final class BillingAmounts {
+
+    public static final int SCALE = 2;
+    private static final long ONE = 100;
+
+    private BillingAmounts() {
+    }
+
+    /**
+     * Converts a scale-2 amount (money or hours) to its hundredths.
+     */
+    public static long toHundredths(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long hundredths) {
+        return BigDecimal.valueOf(hundredths, SCALE);
+    }
+
+    /**
+     * Line total in cents for hours (hundredths of an hour) billed at a rate
+     * (cents per hour), rounded half-up to the cent.
+     */
+    public static long lineTotalCents(long hundredthsOfHours, long rateCents) {
+        return divideHalfUp(Math.multiplyExact(hundredthsOfHours, rateCents), ONE);
+    }
+
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= Math.abs(divisor)) {
+            quotient += Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+}
@@ -3,8 +3,10 @@ package com.company.ems.service;
 import com.company.ems.api.dto.client.ClientRequest;
 import com.company.ems.api.dto.client.ClientResponse;
 import com.company.ems.domain.Client;
+import com.company.ems.domain.ResourceType;
 import com.company.ems.mapper.ClientMapper;
 import com.company.ems.repository.ClientRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -12,12 +14,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Locale;
+
 @Service
 @RequiredArgsConstructor
+@Observed
 public class ClientService {
 
     private final ClientRepository clientRepository;
     private final ClientMapper clientMapper;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional(readOnly = true)
     public Page<ClientResponse> getAllClients(Pageable pageable) {
@@ -34,7 +40,8 @@ public class ClientService {
 
     @Transactional(readOnly = true)
     public Page<ClientResponse> searchClients(String name, Pageable pageable) {
-        return clientRepository.findByNameContainingIgnoreCase(name, pageable)
+        String pattern = LikePatterns.escape(name == null ? "" : name.toLowerCase(Locale.ROOT));
+        return clientRepository.findByLowerNameContaining(pattern, pageable)
                 .map(clientMapper::toResponse);
     }
 
@@ -42,6 +49,7 @@ public class ClientService {
     public ClientResponse createClient(ClientRequest request) {
         Client client = clientMapper.toEntity(request);
         client = clientRepository.save(client);
+        resourceVersionService.bump(ResourceType.CLIENTS);
         return clientMapper.toResponse(client);
     }
 
@@ -52,6 +60,7 @@ public class ClientService {
 
         clientMapper.updateEntity(client, request);
         client = clientRepository.save(client);
+        resourceVersionService.bump(ResourceType.CLIENTS);
         return clientMapper.toResponse(client);
     }
 
@@ -61,6 +70,8 @@ public class ClientService {
             throw new EntityNotFoundException("Client not found with id: " + id);
         }
         clientRepository.deleteById(id);
+        // Projects and their assignments cascade with the client
+        resourceVersionService.bump(ResourceType.CLIENTS, ResourceType.PROJECTS, ResourceType.PROJECT_ASSIGNMENTS);
     }
 }
 
@@ -0,0 +1,416 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.forecast.CapacityForecastResponse;
+import com.company.ems.api.dto.forecast.ForecastWeekResponse;
+import com.company.ems.api.dto.forecast.ProjectForecastResponse;
+import com.company.ems.api.dto.forecast.UserCapacityResponse;
+import com.company.ems.domain.ResourceType;
+import com.company.ems.repository.ForecastAssignment;
+import com.company.ems.repository.ProjectAssignmentRepository;
+import com.company.ems.repository.TimeEntryRepository;
+import com.company.ems.repository.WeeklyProjectHours;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Projects weekly billable hours and revenue for the coming weeks from the
+ * weekly_project_hours rollup and the current project assignments.
+ *
+ * <p>Each assigned user's weekly baseline on a project is an exponentially weighted
+ * average of their history there, starting from their first week on it within the
+ * history window, so recent weeks count most and a late joiner is not averaged
+ * against weeks before they started. Users with no history on a project take the
+ * median baseline of its other members. A user's demand across all projects is
+ * scaled down to the weekly capacity, and each week is priced at the rate in
+ * effect on its Sunday, falling back to the project default.
+ *
+ * <p>History ends with last week once its timesheets are due (the submission
+ * deadline in the current week), and a week earlier before that. Until the
+ * deadline many of last week's timesheets are still drafts, which the rollup
+ * leaves out, so they would count as zero hours at the highest weight.
+ *
+ * <p>The company-wide forecast is built once per snapshot (the versions of the
+ * rollup, projects, assignments, users and rate cards, plus the current week and
+ * history window) for the longest horizon; shorter horizons are served as slices
+ * of it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Observed
+public class ForecastService {
+
+    private static final ResourceType[] SNAPSHOT_RESOURCES = {
+            ResourceType.WEEKLY_HOURS,
+            ResourceType.PROJECTS,
+            ResourceType.PROJECT_ASSIGNMENTS,
+            ResourceType.USERS,
+            ResourceType.RATE_CARDS
+    };
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final ProjectAssignmentRepository projectAssignmentRepository;
+    private final RateCardService rateCardService;
+    private final ResourceVersionService resourceVersionService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.forecast.history-weeks:12}")
+    private int historyWeeks;
+
+    @Value("${app.forecast.max-weeks:26}")
+    private int maxWeeks;
+
+    @Value("${app.forecast.decay:0.8}")
+    private double decay;
+
+    @Value("${app.forecast.weekly-capacity-hours:40}")
+    private BigDecimal weeklyCapacityHours;
+
+    @Value("${app.timesheet.submission-deadline.day-of-week:FRIDAY}")
+    private DayOfWeek submissionDeadlineDay;
+
+    @Value("${app.timesheet.submission-deadline.hour:17}")
+    private int submissionDeadlineHour;
+
+    @Value("${app.timesheet.submission-deadline.minute:0}")
+    private int submissionDeadlineMinute;
+
+    // Replaced in tests
+    Clock clock = Clock.systemDefaultZone();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Returns the forecast for the given number of weeks, starting with the current
+     * week. Not read-only: the snapshot versions and the rollup must both come from
+     * the primary, or a lagging replica could cache old figures under new versions.
+     */
+    @Transactional
+    public CapacityForecastResponse getCapacityForecast(int weeks) {
+        if (weeks < 1 || weeks > maxWeeks) {
+            throw new IllegalArgumentException("Weeks must be between 1 and " + maxWeeks);
+        }
+
+        Map<ResourceType, Long> versions = resourceVersionService.getVersions(SNAPSHOT_RESOURCES);
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDate fromWeek = now.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+        LocalDate historyEnd = historyEnd(fromWeek, now);
+
+        Snapshot current = snapshot;
+        if (current == null || !current.matches(versions, fromWeek, historyEnd)) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null || !current.matches(versions, fromWeek, historyEnd)) {
+                    current = new Snapshot(versions, fromWeek, historyEnd, build(fromWeek, historyEnd));
+                    snapshot = current;
+                }
+            }
+        }
+        return toResponse(current.forecast(), weeks);
+    }
+
+    /**
+     * Rebuilds the weekly_project_hours rollup and bumps its version, which retires
+     * every instance's cached forecast. Instances race for an advisory lock so only
+     * one of them refreshes the view per run.
+     */
+    @Scheduled(cron = "${app.forecast.refresh-cron:0 10 * * * *}")
+    @Transactional
+    public void refreshWeeklyHours() {
+        Boolean locked = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext('weekly_project_hours'))",
+                Boolean.class);
+        if (!Boolean.TRUE.equals(locked)) {
+            log.debug("Skipping weekly_project_hours refresh; another instance holds the lock");
+            return;
+        }
+
+        long started = System.nanoTime();
+        jdbcTemplate.execute("REFRESH MATERIALIZED VIEW CONCURRENTLY weekly_project_hours");
+        resourceVersionService.bump(ResourceType.WEEKLY_HOURS);
+        log.info("Refreshed weekly_project_hours in {} ms",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    /**
+     * Exclusive end of the history window: the current week once last week's
+     * timesheets are past their submission deadline, otherwise last week.
+     */
+    private LocalDate historyEnd(LocalDate fromWeek, LocalDateTime now) {
+        LocalDateTime lastWeekDue = fromWeek.with(TemporalAdjusters.nextOrSame(submissionDeadlineDay))
+                .atTime(submissionDeadlineHour, submissionDeadlineMinute);
+        return now.isBefore(lastWeekDue) ? fromWeek.minusWeeks(1) : fromWeek;
+    }
+
+    private Forecast build(LocalDate fromWeek, LocalDate historyEnd) {
+        long started = System.nanoTime();
+
+        // Hours per (project, user) pair, one slot per history week, oldest first
+        Map<Long, long[]> history = new HashMap<>();
+        List<WeeklyProjectHours> rows = timeEntryRepository
+                .findWeeklyProjectHours(historyEnd.minusWeeks(historyWeeks), historyEnd);
+        for (WeeklyProjectHours row : rows) {
+            history.computeIfAbsent(pairKey(row.getProjectId(), row.getUserId()), k -> new long[historyWeeks])
+                    [row.getWeekIndex()] = BillingAmounts.toHundredths(row.getBillableHours());
+        }
+
+        Map<Integer, ProjectInput> inputs = new LinkedHashMap<>();
+        for (ForecastAssignment assignment : projectAssignmentRepository.findActiveForForecast()) {
+            inputs.computeIfAbsent(assignment.getProjectId(), id -> new ProjectInput(
+                            id,
+                            assignment.getProjectName(),
+                            assignment.getClientName(),
+                            BillingAmounts.toHundredths(assignment.getDefaultBillableRate()),
+                            new ArrayList<>()))
+                    .members()
+                    .add(new Member(
+                            assignment.getUserId(),
+                            assignment.getFirstName() + " " + assignment.getLastName(),
+                            assignment.getJobTitle(),
+                            history.get(pairKey(assignment.getProjectId(), assignment.getUserId()))));
+        }
+        RateCardIndex rateCards = rateCardService.currentIndex();
+
+        // Everything below works on the loaded snapshot only, so projects fan out
+        // across the common pool without touching the persistence context
+        List<ProjectDemand> demands = inputs.values().parallelStream()
+                .map(this::demand)
+                .collect(Collectors.toList());
+
+        long capacity = BillingAmounts.toHundredths(weeklyCapacityHours);
+        Map<Integer, UserLoad> loads = new HashMap<>();
+        for (ProjectDemand demand : demands) {
+            List<Member> members = demand.project().members();
+            for (int i = 0; i < members.size(); i++) {
+                Member member = members.get(i);
+                UserLoad load = loads.computeIfAbsent(member.userId(), id -> new UserLoad(member.userName()));
+                load.projectCount++;
+                load.demand += demand.baselines()[i];
+            }
+        }
+
+        List<ProjectForecast> projects = demands.parallelStream()
+                .map(demand -> forecast(demand, loads, capacity, rateCards, fromWeek))
+                .collect(Collectors.toList());
+
+        long[] totalHours = new long[maxWeeks];
+        long[] totalRevenueCents = new long[maxWeeks];
+        for (ProjectForecast project : projects) {
+            for (int week = 0; week < maxWeeks; week++) {
+                totalHours[week] = Math.addExact(totalHours[week], project.hours()[week]);
+                totalRevenueCents[week] = Math.addExact(totalRevenueCents[week], project.revenueCents()[week]);
+            }
+        }
+
+        List<UserCapacityResponse> users = loads.entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<Integer, UserLoad> e) -> -e.getValue().demand)
+                        .thenComparing(e -> e.getValue().userName))
+                .map(e -> toCapacityResponse(e.getKey(), e.getValue(), capacity))
+                .collect(Collectors.toList());
+
+        log.info("Built capacity forecast for {} projects and {} users in {} ms",
+                projects.size(), users.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return new Forecast(fromWeek, LocalDateTime.now(clock), projects, totalHours, totalRevenueCents, users);
+    }
+
+    /**
+     * Weekly baseline, in hundredths of an hour, for every member of the project.
+     */
+    private ProjectDemand demand(ProjectInput project) {
+        List<Member> members = project.members();
+        double[] baselines = new double[members.size()];
+        List<Double> known = new ArrayList<>();
+        for (int i = 0; i < members.size(); i++) {
+            baselines[i] = weightedAverage(members.get(i).history());
+            if (!Double.isNaN(baselines[i])) {
+                known.add(baselines[i]);
+            }
+        }
+
+        double fallback = median(known);
+        for (int i = 0; i < baselines.length; i++) {
+            if (Double.isNaN(baselines[i])) {
+                baselines[i] = fallback;
+            }
+        }
+        return new ProjectDemand(project, baselines);
+    }
+
+    private double weightedAverage(long[] history) {
+        if (history == null) {
+            return Double.NaN;
+        }
+        int first = 0;
+        while (first < history.length && history[first] == 0) {
+            first++;
+        }
+        if (first == history.length) {
+            return Double.NaN;
+        }
+
+        double weight = 1;
+        double weighted = 0;
+        double totalWeight = 0;
+        for (int week = history.length - 1; week >= first; week--) {
+            weighted += history[week] * weight;
+            totalWeight += weight;
+            weight *= decay;
+        }
+        return weighted / totalWeight;
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private ProjectForecast forecast(ProjectDemand demand, Map<Integer, UserLoad> loads, long capacity,
+                                     RateCardIndex rateCards, LocalDate fromWeek) {
+        ProjectInput project = demand.project();
+        long[] hours = new long[maxWeeks];
+        long[] revenueCents = new long[maxWeeks];
+
+        List<Member> members = project.members();
+        for (int i = 0; i < members.size(); i++) {
+            Member member = members.get(i);
+            double userDemand = loads.get(member.userId()).demand;
+            double scale = userDemand > capacity ? capacity / userDemand : 1;
+            long weeklyHours = Math.round(demand.baselines()[i] * scale);
+            if (weeklyHours == 0) {
+                continue;
+            }
+
+            for (int week = 0; week < maxWeeks; week++) {
+                long rateCents = rateCards.resolveCents(project.projectId(), member.userId(), member.jobTitle(),
+                        fromWeek.plusWeeks(week));
+                if (rateCents == RateCardIndex.NO_RATE) {
+                    rateCents = project.defaultRateCents();
+                }
+                hours[week] = Math.addExact(hours[week], weeklyHours);
+                revenueCents[week] = Math.addExact(revenueCents[week],
+                        BillingAmounts.lineTotalCents(weeklyHours, rateCents));
+            }
+        }
+        return new ProjectForecast(project, hours, revenueCents);
+    }
+
+    private static UserCapacityResponse toCapacityResponse(Integer userId, UserLoad load, long capacity) {
+        long demand = Math.round(load.demand);
+        BigDecimal utilization = capacity > 0
+                ? BigDecimal.valueOf(demand).divide(BigDecimal.valueOf(capacity), 2, RoundingMode.HALF_UP)
+                : null;
+        return new UserCapacityResponse(
+                userId,
+                load.userName,
+                load.projectCount,
+                BillingAmounts.toBigDecimal(demand),
+                BillingAmounts.toBigDecimal(Math.min(demand, capacity)),
+                BillingAmounts.toBigDecimal(capacity),
+                utilization);
+    }
+
+    private CapacityForecastResponse toResponse(Forecast forecast, int weeks) {
+        List<ProjectForecastResponse> projects = forecast.projects().stream()
+                .map(project -> new ProjectForecastResponse(
+                        project.project().projectId(),
+                        project.project().projectName(),
+                        project.project().clientName(),
+                        project.project().members().size(),
+                        BillingAmounts.toBigDecimal(sum(project.hours(), weeks)),
+                        BillingAmounts.toBigDecimal(sum(project.revenueCents(), weeks)),
+                        toWeeks(forecast.fromWeek(), project.hours(), project.revenueCents(), weeks)))
+                .collect(Collectors.toList());
+
+        return new CapacityForecastResponse(
+                forecast.fromWeek(),
+                weeks,
+                historyWeeks,
+                forecast.generatedAt(),
+                BillingAmounts.toBigDecimal(sum(forecast.hours(), weeks)),
+                BillingAmounts.toBigDecimal(sum(forecast.revenueCents(), weeks)),
+                toWeeks(forecast.fromWeek(), forecast.hours(), forecast.revenueCents(), weeks),
+                projects,
+                forecast.users());
+    }
+
+    private static List<ForecastWeekResponse> toWeeks(LocalDate fromWeek, long[] hours, long[] revenueCents, int weeks) {
+        List<ForecastWeekResponse> result = new ArrayList<>(weeks);
+        for (int week = 0; week < weeks; week++) {
+            result.add(new ForecastWeekResponse(
+                    fromWeek.plusWeeks(week),
+                    BillingAmounts.toBigDecimal(hours[week]),
+                    BillingAmounts.toBigDecimal(revenueCents[week])));
+        }
+        return result;
+    }
+
+    private static long sum(long[] values, int weeks) {
+        long total = 0;
+        for (int week = 0; week < weeks; week++) {
+            total = Math.addExact(total, values[week]);
+        }
+        return total;
+    }
+
+    private static long pairKey(Integer projectId, Integer userId) {
+        return ((long) projectId << 32) | (userId & 0xFFFFFFFFL);
+    }
+
+    private record Member(Integer userId, String userName, String jobTitle, long[] history) {}
+
+    private record ProjectInput(Integer projectId, String projectName, String clientName,
+                                long defaultRateCents, List<Member> members) {}
+
+    private record ProjectDemand(ProjectInput project, double[] baselines) {}
+
+    private record ProjectForecast(ProjectInput project, long[] hours, long[] revenueCents) {}
+
+    private record Forecast(LocalDate fromWeek, LocalDateTime generatedAt, List<ProjectForecast> projects,
+                            long[] hours, long[] revenueCents, List<UserCapacityResponse> users) {}
+
+    private record Snapshot(Map<ResourceType, Long> versions, LocalDate fromWeek, LocalDate historyEnd,
+                            Forecast forecast) {
+
+        boolean matches(Map<ResourceType, Long> otherVersions, LocalDate otherFromWeek, LocalDate otherHistoryEnd) {
+            return versions.equals(otherVersions) && fromWeek.equals(otherFromWeek)
+                    && historyEnd.equals(otherHistoryEnd);
+        }
+    }
+
+    private static final class UserLoad {
+
+        private final String userName;
+        private int projectCount;
+        private double demand;
+
+        private UserLoad(String userName) {
+            this.userName = userName;
+        }
+    }
+}
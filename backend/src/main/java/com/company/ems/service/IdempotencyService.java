@@ -0,0 +1,188 @@
+package com.company.ems.service;
+
+import com.company.ems.domain.IdempotencyRecord;
+import com.company.ems.domain.IdempotencyRecordId;
+import com.company.ems.domain.IdempotencyStatus;
+import com.company.ems.repository.IdempotencyRecordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Deduplication store for idempotent POST requests: a Postgres table, which is
+ * the source of truth across nodes, fronted by a bounded in-memory LRU of
+ * completed responses. Keys are scoped per principal and expire after the TTL.
+ * An IN_PROGRESS claim is a lease: once it is older than the wait timeout its
+ * owner is presumed dead and the next request with the key takes it over.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class IdempotencyService {
+
+    public enum ClaimOutcome {
+        /** This request owns the key and must execute, then complete or release the claim. */
+        CLAIMED,
+        /** A stored response exists and must be replayed. */
+        COMPLETED,
+        /** Another request with the same key is still executing. */
+        IN_PROGRESS,
+        /** The key was already used for a different request. */
+        MISMATCH
+    }
+
+    public record StoredResponse(int status, String contentType, Map<String, String> headers, byte[] body) {}
+
+    /**
+     * {@code claimedAt} identifies a CLAIMED lease; complete and release only act on
+     * the lease they are given, so a request whose claim was taken over cannot
+     * overwrite or free the new owner's.
+     */
+    public record Claim(ClaimOutcome outcome, StoredResponse response, LocalDateTime claimedAt) {}
+
+    private record CachedResponse(String requestHash, StoredResponse response, LocalDateTime expiresAt) {}
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Value("${app.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.cache-size:10000}")
+    private int cacheSize;
+
+    @Value("${app.idempotency.wait-timeout-ms:10000}")
+    private long leaseMs;
+
+    private Map<IdempotencyRecordId, CachedResponse> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<IdempotencyRecordId, CachedResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Transactional
+    public Claim claim(String principal, String key, String requestHash) {
+        IdempotencyRecordId id = new IdempotencyRecordId(principal, key);
+        // The column keeps microseconds; the lease must compare equal after a round trip
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+        CachedResponse cached = cache.get(id);
+        if (cached != null && cached.expiresAt().isAfter(now)) {
+            return cached.requestHash().equals(requestHash)
+                    ? new Claim(ClaimOutcome.COMPLETED, cached.response(), null)
+                    : new Claim(ClaimOutcome.MISMATCH, null, null);
+        }
+
+        if (idempotencyRecordRepository.claim(principal, key, requestHash, now, now.plus(ttl)) == 1) {
+            return new Claim(ClaimOutcome.CLAIMED, null, now);
+        }
+
+        Optional<IdempotencyRecord> existing = idempotencyRecordRepository.findById(id);
+        if (existing.isEmpty()) {
+            // Released or purged between the insert attempt and the lookup; let the caller retry
+            return new Claim(ClaimOutcome.IN_PROGRESS, null, null);
+        }
+
+        IdempotencyRecord record = existing.get();
+        if (record.getExpiresAt().isBefore(now)) {
+            idempotencyRecordRepository.delete(record);
+            idempotencyRecordRepository.flush();
+            return idempotencyRecordRepository.claim(principal, key, requestHash, now, now.plus(ttl)) == 1
+                    ? new Claim(ClaimOutcome.CLAIMED, null, now)
+                    : new Claim(ClaimOutcome.IN_PROGRESS, null, null);
+        }
+
+        if (!record.getRequestHash().equals(requestHash)) {
+            return new Claim(ClaimOutcome.MISMATCH, null, null);
+        }
+
+        if (record.getStatus() == IdempotencyStatus.COMPLETED) {
+            StoredResponse response = new StoredResponse(record.getResponseStatus(), record.getResponseContentType(),
+                    decodeHeaders(record.getResponseHeaders()), record.getResponseBody());
+            cache.put(id, new CachedResponse(requestHash, response, record.getExpiresAt()));
+            return new Claim(ClaimOutcome.COMPLETED, response, null);
+        }
+
+        if (record.getClaimedAt().isBefore(now.minus(Duration.ofMillis(leaseMs)))
+                && idempotencyRecordRepository.takeOver(id, record.getClaimedAt(), now, now.plus(ttl)) == 1) {
+            log.warn("Took over idempotency key {} of {}: claimed at {} and never completed",
+                    key, principal, record.getClaimedAt());
+            return new Claim(ClaimOutcome.CLAIMED, null, now);
+        }
+
+        return new Claim(ClaimOutcome.IN_PROGRESS, null, null);
+    }
+
+    /**
+     * Stores the response for replay. Returns false when the claim was taken over in
+     * the meantime, in which case the new owner's outcome is kept.
+     */
+    @Transactional
+    public boolean complete(String principal, String key, String requestHash, LocalDateTime claimedAt,
+                            StoredResponse response) {
+        IdempotencyRecordId id = new IdempotencyRecordId(principal, key);
+        if (idempotencyRecordRepository.complete(id, claimedAt, IdempotencyStatus.COMPLETED, response.status(),
+                response.contentType(), encodeHeaders(response.headers()), response.body()) == 0) {
+            return false;
+        }
+        cache.put(id, new CachedResponse(requestHash, response, LocalDateTime.now().plus(ttl)));
+        return true;
+    }
+
+    @Transactional
+    public void release(String principal, String key, LocalDateTime claimedAt) {
+        idempotencyRecordRepository.release(new IdempotencyRecordId(principal, key), claimedAt);
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = idempotencyRecordRepository.deleteExpired(now);
+        synchronized (cache) {
+            cache.values().removeIf(cached -> cached.expiresAt().isBefore(now));
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+
+    // Header values cannot contain line breaks, so one "Name: value" line per header is unambiguous
+    private static String encodeHeaders(Map<String, String> headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        return headers.entrySet().stream()
+                .map(header -> header.getKey() + ": " + header.getValue())
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (encoded != null) {
+            for (String line : encoded.split("\n")) {
+                int separator = line.indexOf(": ");
+                headers.put(line.substring(0, separator), line.substring(separator + 2));
+            }
+        }
+        return headers;
+    }
+}
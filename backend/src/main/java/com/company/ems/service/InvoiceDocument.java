@@ -0,0 +1,27 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.invoice.InvoiceResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Detached snapshot of everything printed on an invoice, built inside a
+ * transaction so rendering can run on another thread without touching JPA.
+ */
+public record InvoiceDocument(
+        InvoiceResponse invoice,
+        String clientContact,
+        String clientEmail,
+        String clientAddress,
+        List<PaymentLine> payments
+) {
+
+    public record PaymentLine(
+            LocalDate paymentDate,
+            BigDecimal amount,
+            String method,
+            String notes
+    ) {}
+}
@@ -0,0 +1,127 @@
+package com.company.ems.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Local file store for rendered invoice PDFs. Artifacts are keyed by invoice id
+ * and entity version, so any change to the invoice (status, payments) makes the
+ * stored file stale and a fresh one is rendered on the next request.
+ */
+@Slf4j
+@Component
+public class InvoiceDocumentStore {
+
+    private final Path root;
+
+    public InvoiceDocumentStore(@Value("${app.invoice-pdf.storage-dir}") String storageDir) throws IOException {
+        this.root = Files.createDirectories(Path.of(storageDir).toAbsolutePath());
+    }
+
+    public Optional<Path> find(Integer invoiceId, Long version) {
+        Path path = root.resolve(fileName(invoiceId, version));
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    /**
+     * Writes atomically so readers never see a partial file, then drops older
+     * versions of the same invoice. A render that finishes after one for a newer
+     * version is discarded and the newer artifact returned instead, so a slow
+     * render can never replace or delete the current file.
+     */
+    public Path write(Integer invoiceId, Long version, byte[] pdf) {
+        long writtenVersion = version != null ? version : 0;
+        Optional<Path> newer = findNewer(invoiceId, writtenVersion);
+        if (newer.isPresent()) {
+            return newer.get();
+        }
+
+        Path target = root.resolve(fileName(invoiceId, version));
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(root, "invoice-" + invoiceId + "-", ".tmp");
+            Files.write(temp, pdf);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("Failed to store PDF for invoice " + invoiceId, ex);
+        }
+
+        // A newer render may have landed while this one was writing
+        newer = findNewer(invoiceId, writtenVersion);
+        if (newer.isPresent()) {
+            deleteQuietly(target);
+            return newer.get();
+        }
+        deleteOlderVersions(invoiceId, writtenVersion);
+        return target;
+    }
+
+    private Optional<Path> findNewer(Integer invoiceId, long version) {
+        Path newest = null;
+        long newestVersion = version;
+        try (DirectoryStream<Path> stored = Files.newDirectoryStream(root, "invoice-" + invoiceId + "-v*.pdf")) {
+            for (Path path : stored) {
+                long storedVersion = versionOf(path);
+                if (storedVersion > newestVersion) {
+                    newest = path;
+                    newestVersion = storedVersion;
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not list stored PDFs for invoice {}: {}", invoiceId, ex.getMessage());
+        }
+        return Optional.ofNullable(newest);
+    }
+
+    private void deleteOlderVersions(Integer invoiceId, long version) {
+        try (DirectoryStream<Path> stored = Files.newDirectoryStream(root, "invoice-" + invoiceId + "-v*.pdf")) {
+            for (Path path : stored) {
+                long storedVersion = versionOf(path);
+                if (storedVersion >= 0 && storedVersion < version) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not clean up old PDFs for invoice {}: {}", invoiceId, ex.getMessage());
+        }
+    }
+
+    private void deleteQuietly(Path path) {
+        if (path == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Could not delete {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Version encoded in a stored file name, or -1 for a name this store did not write.
+     */
+    private static long versionOf(Path path) {
+        String name = path.getFileName().toString();
+        int start = name.lastIndexOf("-v") + 2;
+        int end = name.length() - ".pdf".length();
+        try {
+            return Long.parseLong(name.substring(start, end));
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            return -1;
+        }
+    }
+
+    private static String fileName(Integer invoiceId, Long version) {
+        return "invoice-" + invoiceId + "-v" + (version != null ? version : 0) + ".pdf";
+    }
+}
@@ -0,0 +1,46 @@
+package com.company.ems.service;
+
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Renders an invoice snapshot to PDF. The Thymeleaf engine parses the template
+ * once and serves it from its template cache afterwards; only the merge and
+ * layout run per document.
+ */
+@Component
+@RequiredArgsConstructor
+public class InvoicePdfRenderer {
+
+    private static final String TEMPLATE = "invoice";
+
+    private final ITemplateEngine templateEngine;
+
+    public byte[] render(InvoiceDocument document) {
+        Context context = new Context();
+        context.setVariable("invoice", document.invoice());
+        context.setVariable("clientContact", document.clientContact());
+        context.setVariable("clientEmail", document.clientEmail());
+        context.setVariable("clientAddress", document.clientAddress());
+        context.setVariable("payments", document.payments());
+        String html = templateEngine.process(TEMPLATE, context);
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.useFastMode();
+            builder.withHtmlContent(html, null);
+            builder.toStream(out);
+            builder.run();
+            return out.toByteArray();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to render invoice " + document.invoice().id(), ex);
+        }
+    }
+}
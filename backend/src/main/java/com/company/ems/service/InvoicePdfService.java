@@ -0,0 +1,143 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.invoice.InvoicePdfBatchResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves invoice PDFs from the document store, rendering them on the background
+ * executor when the stored artifact is missing or stale. Concurrent requests for
+ * the same invoice version share one render.
+ */
+@Slf4j
+@Service
+public class InvoicePdfService {
+
+    private final InvoiceService invoiceService;
+    private final InvoicePdfRenderer renderer;
+    private final InvoiceDocumentStore store;
+    private final TaskExecutor executor;
+    private final long renderTimeoutMs;
+    private final ConcurrentMap<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public InvoicePdfService(InvoiceService invoiceService,
+                             InvoicePdfRenderer renderer,
+                             InvoiceDocumentStore store,
+                             @Qualifier("invoiceRenderExecutor") TaskExecutor executor,
+                             @Value("${app.invoice-pdf.render-timeout-ms:10000}") long renderTimeoutMs) {
+        this.invoiceService = invoiceService;
+        this.renderer = renderer;
+        this.store = store;
+        this.executor = executor;
+        this.renderTimeoutMs = renderTimeoutMs;
+    }
+
+    /**
+     * Returns the stored PDF for the invoice's current version, waiting up to the
+     * render timeout for it to be produced. Empty means rendering is still running,
+     * or could not be queued yet, and the caller should retry.
+     */
+    public Optional<Path> getPdf(Integer invoiceId) {
+        InvoiceDocument document = invoiceService.getInvoiceDocument(invoiceId);
+        Optional<Path> stored = store.find(invoiceId, document.invoice().version());
+        if (stored.isPresent()) {
+            return stored;
+        }
+        try {
+            return Optional.of(renderAsync(document).get(renderTimeoutMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException | TaskRejectedException ex) {
+            return Optional.empty();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof TaskRejectedException) {
+                // Joined a render that the full executor turned away
+                return Optional.empty();
+            }
+            throw new IllegalStateException("Failed to render invoice " + invoiceId, ex.getCause());
+        }
+    }
+
+    /**
+     * Queues rendering of every invoice issued in the month that has no current
+     * artifact. Renders run in parallel on the executor; the call returns once
+     * they are queued. When the executor queue is full the rest are reported as
+     * deferred rather than queued, and a later call picks them up.
+     */
+    public InvoicePdfBatchResponse renderMonth(YearMonth month) {
+        List<InvoiceDocument> documents = invoiceService.getInvoiceDocumentsIssuedIn(month);
+        int alreadyRendered = 0;
+        int queued = 0;
+        int deferred = 0;
+        for (InvoiceDocument document : documents) {
+            if (deferred > 0) {
+                deferred++;
+            } else if (store.find(document.invoice().id(), document.invoice().version()).isPresent()) {
+                alreadyRendered++;
+            } else {
+                try {
+                    renderAsync(document);
+                    queued++;
+                } catch (TaskRejectedException ex) {
+                    deferred++;
+                }
+            }
+        }
+        if (deferred > 0) {
+            log.warn("Render queue full; deferred {} of {} invoice PDFs for {}", deferred, documents.size(), month);
+        }
+        return new InvoicePdfBatchResponse(month, documents.size(), alreadyRendered, queued, deferred);
+    }
+
+    /**
+     * Starts rendering, or joins the render already running for this invoice
+     * version. Throws {@link TaskRejectedException} when the executor is full.
+     */
+    private CompletableFuture<Path> renderAsync(InvoiceDocument document) {
+        Integer invoiceId = document.invoice().id();
+        Long version = document.invoice().version();
+        String key = invoiceId + ":" + version;
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+        // Registered outside any map compute: it may run on this thread if the
+        // render finishes (or is rejected) before this method returns
+        future.whenComplete((path, ex) -> {
+            inFlight.remove(key, future);
+            if (ex != null && !(ex instanceof TaskRejectedException)) {
+                log.error("Rendering PDF for invoice {} failed", invoiceId, ex);
+            }
+        });
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(store.write(invoiceId, version, renderer.render(document)));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (TaskRejectedException ex) {
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        return future;
+    }
+}
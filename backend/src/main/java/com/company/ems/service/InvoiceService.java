@@ -7,6 +7,7 @@ import com.company.ems.api.dto.invoice.PaymentRequest;
 import com.company.ems.domain.*;
 import com.company.ems.mapper.InvoiceMapper;
 import com.company.ems.repository.*;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,12 +17,15 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.HashMap;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed
 public class InvoiceService {
 
     private final InvoiceRepository invoiceRepository;
@@ -29,6 +33,7 @@ public class InvoiceService {
     private final TimeEntryRepository timeEntryRepository;
     private final PaymentRepository paymentRepository;
     private final InvoiceMapper invoiceMapper;
+    private final RateCardService rateCardService;
 
     @Transactional(readOnly = true)
     public Page<InvoiceResponse> getAllInvoices(Pageable pageable) {
@@ -57,6 +62,33 @@ public class InvoiceService {
                 .map(invoiceMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public InvoiceDocument getInvoiceDocument(Integer id) {
+        Invoice invoice = invoiceRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found with id: " + id));
+        return invoiceMapper.toDocument(invoice, paymentRepository.findByInvoiceId(id));
+    }
+
+    /**
+     * Snapshots of every invoice issued in the month, loaded with two queries
+     * (invoices with lines, then their payments) regardless of the count.
+     */
+    @Transactional(readOnly = true)
+    public List<InvoiceDocument> getInvoiceDocumentsIssuedIn(YearMonth month) {
+        List<Invoice> invoices = invoiceRepository.findByIssueDateBetweenOrderById(month.atDay(1), month.atEndOfMonth());
+        if (invoices.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, List<Payment>> paymentsByInvoice = paymentRepository
+                .findByInvoiceIdInOrderByPaymentDate(invoices.stream().map(Invoice::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(payment -> payment.getInvoice().getId()));
+        return invoices.stream()
+                .map(invoice -> invoiceMapper.toDocument(invoice,
+                        paymentsByInvoice.getOrDefault(invoice.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
     @Transactional
     public InvoiceResponse generateInvoice(InvoiceGenerateRequest request) {
         Client client = clientRepository.findById(request.clientId())
@@ -82,93 +114,112 @@ public class InvoiceService {
                 .amountPaid(BigDecimal.ZERO)
                 .build();
 
-        // Group entries by project and user
-        Map<String, InvoiceLineItem> lineItemMap = new HashMap<>();
+        // Resolve each entry's rate from the rate cards in effect on its day, falling back
+        // to the project default, then group by project, user and rate
+        RateCardIndex rateCards = rateCardService.currentIndex();
+        Map<LineKey, LineAccumulator> lines = new LinkedHashMap<>();
 
         for (TimeEntry entry : billableEntries) {
-            String key = entry.getProject().getId() + "_" + entry.getTimesheet().getUser().getId();
-
-            InvoiceLineItem lineItem = lineItemMap.computeIfAbsent(key, k -> {
-                InvoiceLineItem item = InvoiceLineItem.builder()
-                        .invoice(invoice)
-                        .project(entry.getProject())
-                        .user(entry.getTimesheet().getUser())
-                        .description(entry.getProject().getName() + " - " + entry.getTimesheet().getUser().getFullName())
-                        .hours(BigDecimal.ZERO)
-                        .rate(entry.getProject().getDefaultBillableRate())
-                        .lineTotal(BigDecimal.ZERO)
-                        .build();
-                invoice.getLineItems().add(item);
-                return item;
-            });
-
-            BigDecimal newHours = lineItem.getHours().add(entry.getHours());
-            lineItem.setHours(newHours);
-
-            BigDecimal lineTotal = newHours.multiply(lineItem.getRate());
-            lineItem.setLineTotal(lineTotal);
+            Project project = entry.getProject();
+            User user = entry.getTimesheet().getUser();
+            long rateCents = rateCards.resolveCents(project.getId(), user.getId(), user.getJobTitle(), entry.getEntryDate());
+            if (rateCents == RateCardIndex.NO_RATE) {
+                rateCents = BillingAmounts.toHundredths(project.getDefaultBillableRate());
+            }
+
+            long lineRateCents = rateCents;
+            LineAccumulator line = lines.computeIfAbsent(
+                    new LineKey(project.getId(), user.getId(), lineRateCents),
+                    k -> new LineAccumulator(project, user, lineRateCents));
+            line.hundredthsOfHours = Math.addExact(line.hundredthsOfHours, BillingAmounts.toHundredths(entry.getHours()));
         }
 
-        // Calculate total
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        for (InvoiceLineItem item : invoice.getLineItems()) {
-            totalAmount = totalAmount.add(item.getLineTotal());
+        // Each line is rounded to the cent once; the total is the sum of the rounded lines
+        long totalCents = 0;
+        for (LineAccumulator line : lines.values()) {
+            long lineTotalCents = BillingAmounts.lineTotalCents(line.hundredthsOfHours, line.rateCents);
+            totalCents = Math.addExact(totalCents, lineTotalCents);
+
+            invoice.getLineItems().add(InvoiceLineItem.builder()
+                    .invoice(invoice)
+                    .project(line.project)
+                    .user(line.user)
+                    .description(line.project.getName() + " - " + line.user.getFullName())
+                    .hours(BillingAmounts.toBigDecimal(line.hundredthsOfHours))
+                    .rate(BillingAmounts.toBigDecimal(line.rateCents))
+                    .lineTotal(BillingAmounts.toBigDecimal(lineTotalCents))
+                    .build());
         }
 
-        invoice.setTotalAmount(totalAmount);
+        invoice.setTotalAmount(BillingAmounts.toBigDecimal(totalCents));
         Invoice savedInvoice = invoiceRepository.save(invoice);
 
         return invoiceMapper.toResponse(savedInvoice);
     }
 
     @Transactional
-    public InvoiceResponse updateInvoiceStatus(Integer id, InvoiceStatusUpdateRequest request) {
+    public InvoiceResponse updateInvoiceStatus(Integer id, InvoiceStatusUpdateRequest request, Long expectedVersion) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Invoice not found"));
 
+        VersionMismatchException.verify("Invoice", expectedVersion, invoice.getVersion());
+
         invoice.setStatus(request.status());
-        invoice = invoiceRepository.save(invoice);
+        invoice = invoiceRepository.saveAndFlush(invoice);
 
         return invoiceMapper.toResponse(invoice);
     }
 
     @Transactional
     public InvoiceResponse recordPayment(Integer invoiceId, PaymentRequest request) {
-        Invoice invoice = invoiceRepository.findById(invoiceId)
-                .orElseThrow(() -> new EntityNotFoundException("Invoice not found"));
+        // Atomic increment: concurrent payments on the same invoice are never lost
+        if (invoiceRepository.addPayment(invoiceId, request.amount(), InvoiceStatus.PAID) == 0) {
+            throw new EntityNotFoundException("Invoice not found");
+        }
 
         Payment payment = Payment.builder()
-                .invoice(invoice)
+                .invoice(invoiceRepository.getReferenceById(invoiceId))
                 .paymentDate(request.paymentDate())
                 .amount(request.amount())
                 .method(request.method())
                 .notes(request.notes())
                 .build();
 
-        payment = paymentRepository.save(payment);
+        paymentRepository.save(payment);
 
-        BigDecimal newAmountPaid = invoice.getAmountPaid().add(request.amount());
-        invoice.setAmountPaid(newAmountPaid);
-
-        if (newAmountPaid.compareTo(invoice.getTotalAmount()) >= 0) {
-            invoice.setStatus(InvoiceStatus.PAID);
-        }
-
-        invoice = invoiceRepository.save(invoice);
+        Invoice invoice = invoiceRepository.findById(invoiceId)
+                .orElseThrow(() -> new EntityNotFoundException("Invoice not found"));
 
         return invoiceMapper.toResponse(invoice);
     }
 
     @Transactional
-    public void deleteInvoice(Integer id) {
+    public void deleteInvoice(Integer id, Long expectedVersion) {
         Invoice invoice = invoiceRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Invoice not found"));
 
+        VersionMismatchException.verify("Invoice", expectedVersion, invoice.getVersion());
+
         if (invoice.getStatus() != InvoiceStatus.DRAFT) {
             throw new IllegalStateException("Only draft invoices can be deleted");
         }
 
         invoiceRepository.delete(invoice);
     }
-}
 
+    private record LineKey(Integer projectId, Integer userId, long rateCents) {}
+
+    private static final class LineAccumulator {
+
+        private final Project project;
+        private final User user;
+        private final long rateCents;
+        private long hundredthsOfHours;
+
+        private LineAccumulator(Project project, User user, long rateCents) {
+            this.project = project;
+            this.user = user;
+            this.rateCents = rateCents;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.company.ems.service;
+
+/**
+ * Escapes user input for use inside a LIKE pattern. The queries rely on
+ * backslash being the escape character, PostgreSQL's default.
+ */
+final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    static String escape(String value) {
+        return value.replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
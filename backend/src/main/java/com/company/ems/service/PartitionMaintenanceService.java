@@ -0,0 +1,71 @@
+package com.company.ems.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the quarterly time_entries partitions created ahead of time and, when
+ * enabled, moves partitions of closed years into the archive schema.
+ * The partition logic itself lives in the SQL functions created by V5.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.partitioning.months-ahead:12}")
+    private int monthsAhead;
+
+    @Value("${app.partitioning.archive.enabled:false}")
+    private boolean archiveEnabled;
+
+    @Value("${app.partitioning.archive.retain-years:2}")
+    private int retainYears;
+
+    // A failure here must not stop the instance from starting: the default partition
+    // catches rows outside every range, and the nightly run retries
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        try {
+            maintainPartitions();
+        } catch (RuntimeException e) {
+            log.error("Partition maintenance failed at startup; retrying on the next scheduled run", e);
+        }
+    }
+
+    @Scheduled(cron = "${app.partitioning.cron:0 0 2 * * *}")
+    public void maintainPartitions() {
+        LocalDate today = LocalDate.now();
+
+        Integer created = jdbcTemplate.queryForObject(
+                "SELECT ensure_time_entry_partitions(?, ?)",
+                Integer.class,
+                today,
+                today.plusMonths(monthsAhead));
+        if (created != null && created > 0) {
+            log.info("Created {} time_entries partition(s)", created);
+        }
+
+        if (archiveEnabled) {
+            // Keep the current year plus retainYears closed years online
+            LocalDate archiveBefore = today.withDayOfYear(1).minusYears(retainYears);
+            Integer archived = jdbcTemplate.queryForObject(
+                    "SELECT archive_time_entry_partitions(?)",
+                    Integer.class,
+                    archiveBefore);
+            if (archived != null && archived > 0) {
+                log.info("Archived {} time_entries partition(s) ending on or before {}", archived, archiveBefore);
+            }
+        }
+    }
+}
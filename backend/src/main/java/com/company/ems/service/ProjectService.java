@@ -1,5 +1,7 @@
 package com.company.ems.service;
 
+import com.company.ems.api.dto.project.ProjectAssignmentBulkRequest;
+import com.company.ems.api.dto.project.ProjectAssignmentBulkResponse;
 import com.company.ems.api.dto.project.ProjectAssignmentRequest;
 import com.company.ems.api.dto.project.ProjectRequest;
 import com.company.ems.api.dto.project.ProjectResponse;
@@ -9,6 +11,7 @@ import com.company.ems.repository.ClientRepository;
 import com.company.ems.repository.ProjectAssignmentRepository;
 import com.company.ems.repository.ProjectRepository;
 import com.company.ems.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -16,13 +19,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
@@ -30,6 +34,7 @@ public class ProjectService {
     private final ProjectAssignmentRepository assignmentRepository;
     private final UserRepository userRepository;
     private final ProjectMapper projectMapper;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional(readOnly = true)
     public Page<ProjectResponse> getAllProjects(Pageable pageable) {
@@ -85,26 +90,11 @@ public class ProjectService {
 
         project = projectRepository.save(project);
 
-        // Assign employees to project if provided
         if (request.employeeIds() != null && !request.employeeIds().isEmpty()) {
-            for (Integer employeeId : request.employeeIds()) {
-                User user = userRepository.findById(employeeId)
-                        .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + employeeId));
-
-                // Check if assignment already exists (shouldn't happen for new project, but safety check)
-                if (!assignmentRepository.existsByUserIdAndProjectId(employeeId, project.getId())) {
-                    ProjectAssignment assignment = ProjectAssignment.builder()
-                            .user(user)
-                            .project(project)
-                            .build();
-                    assignmentRepository.save(assignment);
-                }
-            }
+            syncAssignments(project.getId(), request.employeeIds());
         }
 
-        // Refresh to get the assignments
-        project = projectRepository.findById(project.getId())
-                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        resourceVersionService.bump(ResourceType.PROJECTS, ResourceType.PROJECT_ASSIGNMENTS);
 
         return projectMapper.toResponse(project);
     }
@@ -123,44 +113,11 @@ public class ProjectService {
         projectMapper.updateEntity(project, request);
         project = projectRepository.save(project);
 
-        // Update employee assignments if provided
         if (request.employeeIds() != null) {
-            // Get current assignments
-            List<ProjectAssignment> currentAssignments = assignmentRepository.findByProjectId(id);
-
-            // Get current employee IDs
-            Set<Integer> currentEmployeeIds = currentAssignments.stream()
-                    .map(assignment -> assignment.getUser().getId())
-                    .collect(Collectors.toSet());
-
-            // Get new employee IDs set
-            Set<Integer> newEmployeeIds = new HashSet<>(request.employeeIds());
-
-            // Remove assignments that are no longer in the new list
-            for (ProjectAssignment assignment : currentAssignments) {
-                if (!newEmployeeIds.contains(assignment.getUser().getId())) {
-                    assignmentRepository.delete(assignment);
-                }
-            }
-
-            // Add new assignments
-            for (Integer employeeId : newEmployeeIds) {
-                if (!currentEmployeeIds.contains(employeeId)) {
-                    User user = userRepository.findById(employeeId)
-                            .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + employeeId));
-
-                    ProjectAssignment assignment = ProjectAssignment.builder()
-                            .user(user)
-                            .project(project)
-                            .build();
-                    assignmentRepository.save(assignment);
-                }
-            }
+            syncAssignments(id, request.employeeIds());
         }
 
-        // Refresh to get the updated assignments
-        project = projectRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        resourceVersionService.bump(ResourceType.PROJECTS, ResourceType.PROJECT_ASSIGNMENTS);
 
         return projectMapper.toResponse(project);
     }
@@ -171,6 +128,7 @@ public class ProjectService {
             throw new EntityNotFoundException("Project not found with id: " + id);
         }
         projectRepository.deleteById(id);
+        resourceVersionService.bump(ResourceType.PROJECTS, ResourceType.PROJECT_ASSIGNMENTS);
     }
 
     @Transactional
@@ -190,6 +148,7 @@ public class ProjectService {
                 .build();
 
         assignmentRepository.save(assignment);
+        resourceVersionService.bump(ResourceType.PROJECT_ASSIGNMENTS);
     }
 
     @Transactional
@@ -198,6 +157,77 @@ public class ProjectService {
                 .orElseThrow(() -> new EntityNotFoundException("Assignment not found"));
 
         assignmentRepository.delete(assignment);
+        resourceVersionService.bump(ResourceType.PROJECT_ASSIGNMENTS);
     }
-}
 
+    /**
+     * Assigns every listed user to every listed project. Pairs that are already
+     * assigned are skipped; unknown project or user ids fail the whole request.
+     */
+    @Transactional
+    public ProjectAssignmentBulkResponse assignUsersToProjects(ProjectAssignmentBulkRequest request) {
+        Set<Integer> projectIds = new LinkedHashSet<>(request.projectIds());
+        Set<Integer> userIds = new LinkedHashSet<>(request.userIds());
+        requireExisting("Project", projectIds, projectRepository.findIdsByIdIn(projectIds));
+        requireExisting("User", userIds, userRepository.findIdsByIdIn(userIds));
+
+        int inserted = assignmentRepository.insertMissingForProjects(projectIds, userIds);
+        if (inserted > 0) {
+            resourceVersionService.bump(ResourceType.PROJECT_ASSIGNMENTS);
+        }
+        return new ProjectAssignmentBulkResponse(projectIds.size(), userIds.size(), inserted);
+    }
+
+    /**
+     * Removes every listed user from every listed project. Pairs that are not
+     * assigned are ignored. The lists are bounded like the bulk assign request,
+     * which is validated as a body; here they arrive as query parameters.
+     */
+    @Transactional
+    public ProjectAssignmentBulkResponse unassignUsersFromProjects(List<Integer> projectIds, List<Integer> userIds) {
+        if (projectIds.size() > ProjectAssignmentBulkRequest.MAX_PROJECTS) {
+            throw new IllegalArgumentException("At most " + ProjectAssignmentBulkRequest.MAX_PROJECTS
+                    + " projects can be processed per request");
+        }
+        if (userIds.size() > ProjectAssignmentBulkRequest.MAX_USERS) {
+            throw new IllegalArgumentException("At most " + ProjectAssignmentBulkRequest.MAX_USERS
+                    + " users can be processed per request");
+        }
+        Set<Integer> distinctProjectIds = new LinkedHashSet<>(projectIds);
+        Set<Integer> distinctUserIds = new LinkedHashSet<>(userIds);
+        if (distinctProjectIds.isEmpty() || distinctUserIds.isEmpty()) {
+            return new ProjectAssignmentBulkResponse(distinctProjectIds.size(), distinctUserIds.size(), 0);
+        }
+
+        int deleted = assignmentRepository.deleteByProjectIdInAndUserIdIn(distinctProjectIds, distinctUserIds);
+        if (deleted > 0) {
+            resourceVersionService.bump(ResourceType.PROJECT_ASSIGNMENTS);
+        }
+        return new ProjectAssignmentBulkResponse(distinctProjectIds.size(), distinctUserIds.size(), deleted);
+    }
+
+    /**
+     * Makes the project's assignments exactly the given users with one validation
+     * query, one delete and one insert, however many users are involved.
+     */
+    private void syncAssignments(Integer projectId, List<Integer> employeeIds) {
+        Set<Integer> userIds = new LinkedHashSet<>(employeeIds);
+        if (userIds.isEmpty()) {
+            assignmentRepository.deleteAllForProject(projectId);
+            return;
+        }
+
+        requireExisting("User", userIds, userRepository.findIdsByIdIn(userIds));
+        assignmentRepository.deleteByProjectIdAndUserIdNotIn(projectId, userIds);
+        assignmentRepository.insertMissing(projectId, userIds);
+    }
+
+    private static void requireExisting(String entityName, Set<Integer> requestedIds, List<Integer> foundIds) {
+        if (foundIds.size() == requestedIds.size()) {
+            return;
+        }
+        Set<Integer> missing = new LinkedHashSet<>(requestedIds);
+        missing.removeAll(foundIds);
+        throw new EntityNotFoundException(entityName + " not found with id(s): " + missing);
+    }
+}
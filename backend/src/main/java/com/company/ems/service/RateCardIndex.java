@@ -0,0 +1,140 @@
+package com.company.ems.service;
+
+import com.company.ems.repository.RateCardEntry;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable in-memory index over all rate cards. Cards are grouped by project
+ * and target (user or job title) into timelines sorted by start date, so a rate
+ * is resolved with one binary search. Cards for one target never overlap; the
+ * service enforces that on write.
+ */
+public final class RateCardIndex {
+
+    public static final long NO_RATE = -1;
+
+    static final RateCardIndex EMPTY = new RateCardIndex(Map.of());
+
+    private final Map<Integer, ProjectRates> projects;
+
+    private RateCardIndex(Map<Integer, ProjectRates> projects) {
+        this.projects = projects;
+    }
+
+    public static RateCardIndex build(List<RateCardEntry> entries) {
+        Map<Integer, Map<Integer, List<RateCardEntry>>> byUser = new HashMap<>();
+        Map<Integer, Map<String, List<RateCardEntry>>> byJobTitle = new HashMap<>();
+        for (RateCardEntry entry : entries) {
+            if (entry.getUserId() != null) {
+                byUser.computeIfAbsent(entry.getProjectId(), k -> new HashMap<>())
+                        .computeIfAbsent(entry.getUserId(), k -> new ArrayList<>())
+                        .add(entry);
+            } else {
+                byJobTitle.computeIfAbsent(entry.getProjectId(), k -> new HashMap<>())
+                        .computeIfAbsent(normalize(entry.getJobTitle()), k -> new ArrayList<>())
+                        .add(entry);
+            }
+        }
+
+        Map<Integer, ProjectRates> projects = new HashMap<>();
+        byUser.forEach((projectId, cards) -> projects
+                .computeIfAbsent(projectId, k -> new ProjectRates(new HashMap<>(), new HashMap<>()))
+                .byUser().putAll(toTimelines(cards)));
+        byJobTitle.forEach((projectId, cards) -> projects
+                .computeIfAbsent(projectId, k -> new ProjectRates(new HashMap<>(), new HashMap<>()))
+                .byJobTitle().putAll(toTimelines(cards)));
+        return new RateCardIndex(projects);
+    }
+
+    /**
+     * Rate in cents for a user on a project on a given day: a user-specific card
+     * wins over a job-title card. Returns {@link #NO_RATE} when neither applies
+     * and the project default should be used.
+     */
+    public long resolveCents(Integer projectId, Integer userId, String jobTitle, LocalDate date) {
+        ProjectRates rates = projects.get(projectId);
+        if (rates == null) {
+            return NO_RATE;
+        }
+        long day = date.toEpochDay();
+        Timeline userTimeline = rates.byUser().get(userId);
+        if (userTimeline != null) {
+            long rate = userTimeline.rateAt(day);
+            if (rate != NO_RATE) {
+                return rate;
+            }
+        }
+        if (jobTitle != null) {
+            Timeline titleTimeline = rates.byJobTitle().get(normalize(jobTitle));
+            if (titleTimeline != null) {
+                return titleTimeline.rateAt(day);
+            }
+        }
+        return NO_RATE;
+    }
+
+    static String normalize(String jobTitle) {
+        return jobTitle.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <K> Map<K, Timeline> toTimelines(Map<K, List<RateCardEntry>> cards) {
+        Map<K, Timeline> timelines = new HashMap<>();
+        cards.forEach((key, list) -> timelines.put(key, Timeline.of(list)));
+        return timelines;
+    }
+
+    private record ProjectRates(Map<Integer, Timeline> byUser, Map<String, Timeline> byJobTitle) {}
+
+    private static final class Timeline {
+
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] rates;
+
+        private Timeline(long[] starts, long[] ends, long[] rates) {
+            this.starts = starts;
+            this.ends = ends;
+            this.rates = rates;
+        }
+
+        static Timeline of(List<RateCardEntry> cards) {
+            List<RateCardEntry> sorted = new ArrayList<>(cards);
+            sorted.sort(Comparator.comparing(RateCardEntry::getEffectiveFrom));
+            int size = sorted.size();
+            long[] starts = new long[size];
+            long[] ends = new long[size];
+            long[] rates = new long[size];
+            for (int i = 0; i < size; i++) {
+                RateCardEntry card = sorted.get(i);
+                starts[i] = card.getEffectiveFrom().toEpochDay();
+                ends[i] = card.getEffectiveTo() != null ? card.getEffectiveTo().toEpochDay() : Long.MAX_VALUE;
+                rates[i] = BillingAmounts.toHundredths(card.getRate());
+            }
+            return new Timeline(starts, ends, rates);
+        }
+
+        long rateAt(long day) {
+            // Last card starting on or before the day
+            int low = 0;
+            int high = starts.length - 1;
+            int match = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= day) {
+                    match = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return match >= 0 && ends[match] >= day ? rates[match] : NO_RATE;
+        }
+    }
+}
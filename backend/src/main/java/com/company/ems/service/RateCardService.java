@@ -0,0 +1,168 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.ratecard.RateCardRequest;
+import com.company.ems.api.dto.ratecard.RateCardResponse;
+import com.company.ems.domain.Project;
+import com.company.ems.domain.RateCard;
+import com.company.ems.domain.ResourceType;
+import com.company.ems.domain.User;
+import com.company.ems.mapper.RateCardMapper;
+import com.company.ems.repository.ProjectRepository;
+import com.company.ems.repository.RateCardRepository;
+import com.company.ems.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Observed
+public class RateCardService {
+
+    private static final String OVERLAP_CONSTRAINT_PREFIX = "rate_cards_no_overlap";
+
+    private final RateCardRepository rateCardRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final RateCardMapper rateCardMapper;
+    private final ResourceVersionService resourceVersionService;
+
+    private volatile IndexSnapshot snapshot = new IndexSnapshot(-1, RateCardIndex.EMPTY);
+
+    @Transactional(readOnly = true)
+    public List<RateCardResponse> getRateCardsByProjectId(Integer projectId) {
+        return rateCardRepository.findByProjectId(projectId)
+                .stream()
+                .map(rateCardMapper::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public RateCardResponse createRateCard(RateCardRequest request) {
+        RateCard rateCard = new RateCard();
+        apply(rateCard, request);
+        rateCard = saveChecked(rateCard);
+        resourceVersionService.bump(ResourceType.RATE_CARDS);
+        return rateCardMapper.toResponse(rateCard);
+    }
+
+    @Transactional
+    public RateCardResponse updateRateCard(Integer id, RateCardRequest request) {
+        RateCard rateCard = rateCardRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Rate card not found with id: " + id));
+        apply(rateCard, request);
+        rateCard = saveChecked(rateCard);
+        resourceVersionService.bump(ResourceType.RATE_CARDS);
+        return rateCardMapper.toResponse(rateCard);
+    }
+
+    @Transactional
+    public void deleteRateCard(Integer id) {
+        if (!rateCardRepository.existsById(id)) {
+            throw new EntityNotFoundException("Rate card not found with id: " + id);
+        }
+        rateCardRepository.deleteById(id);
+        resourceVersionService.bump(ResourceType.RATE_CARDS);
+    }
+
+    /**
+     * Returns the rate index, rebuilding it when the RATE_CARDS version has moved
+     * since it was built. Costs one version lookup per call, so callers resolve
+     * many rates against a single index rather than calling this per entry.
+     */
+    @Transactional
+    public RateCardIndex currentIndex() {
+        long version = resourceVersionService.getVersions(ResourceType.RATE_CARDS)
+                .getOrDefault(ResourceType.RATE_CARDS, 0L);
+        IndexSnapshot current = snapshot;
+        if (current.version() == version) {
+            return current.index();
+        }
+        synchronized (this) {
+            current = snapshot;
+            if (current.version() != version) {
+                current = new IndexSnapshot(version, RateCardIndex.build(rateCardRepository.findAllEntries()));
+                snapshot = current;
+            }
+            return current.index();
+        }
+    }
+
+    private void apply(RateCard rateCard, RateCardRequest request) {
+        boolean hasUser = request.userId() != null;
+        boolean hasJobTitle = request.jobTitle() != null && !request.jobTitle().isBlank();
+        if (hasUser == hasJobTitle) {
+            throw new IllegalArgumentException("A rate card must target either a user or a job title");
+        }
+        if (request.effectiveTo() != null && request.effectiveTo().isBefore(request.effectiveFrom())) {
+            throw new IllegalArgumentException("Effective to date must not be before effective from date");
+        }
+
+        Project project = projectRepository.findById(request.projectId())
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        User user = hasUser
+                ? userRepository.findById(request.userId())
+                        .orElseThrow(() -> new EntityNotFoundException("User not found"))
+                : null;
+        String jobTitle = hasJobTitle ? request.jobTitle().trim() : null;
+
+        // A target may only have one rate on any given day
+        for (RateCard existing : rateCardRepository.findByProjectId(project.getId())) {
+            if (existing.getId().equals(rateCard.getId()) || !sameTarget(existing, user, jobTitle)) {
+                continue;
+            }
+            if (overlaps(existing.getEffectiveFrom(), existing.getEffectiveTo(),
+                    request.effectiveFrom(), request.effectiveTo())) {
+                throw new IllegalStateException("Rate card overlaps an existing card from "
+                        + existing.getEffectiveFrom() + " for the same project and target");
+            }
+        }
+
+        rateCard.setProject(project);
+        rateCard.setUser(user);
+        rateCard.setJobTitle(jobTitle);
+        rateCard.setRate(request.rate());
+        rateCard.setEffectiveFrom(request.effectiveFrom());
+        rateCard.setEffectiveTo(request.effectiveTo());
+    }
+
+    /**
+     * Flushes so a card that overlaps one written concurrently (which apply()
+     * cannot see) fails on the V13 exclusion constraints here, with the same
+     * error as the overlap check, rather than at commit.
+     */
+    private RateCard saveChecked(RateCard rateCard) {
+        try {
+            return rateCardRepository.saveAndFlush(rateCard);
+        } catch (DataIntegrityViolationException e) {
+            String cause = e.getMostSpecificCause().getMessage();
+            if (cause != null && cause.contains(OVERLAP_CONSTRAINT_PREFIX)) {
+                throw new IllegalStateException(
+                        "Rate card overlaps an existing card for the same project and target", e);
+            }
+            throw e;
+        }
+    }
+
+    private static boolean sameTarget(RateCard existing, User user, String jobTitle) {
+        if (user != null) {
+            return existing.getUser() != null && Objects.equals(existing.getUser().getId(), user.getId());
+        }
+        return existing.getJobTitle() != null
+                && RateCardIndex.normalize(existing.getJobTitle()).equals(RateCardIndex.normalize(jobTitle));
+    }
+
+    private static boolean overlaps(LocalDate fromA, LocalDate toA, LocalDate fromB, LocalDate toB) {
+        return (toA == null || !toA.isBefore(fromB)) && (toB == null || !toB.isBefore(fromA));
+    }
+
+    private record IndexSnapshot(long version, RateCardIndex index) {}
+}
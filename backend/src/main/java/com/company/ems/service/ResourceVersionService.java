@@ -0,0 +1,41 @@
+package com.company.ems.service;
+
+import com.company.ems.domain.ResourceType;
+import com.company.ems.domain.ResourceVersion;
+import com.company.ems.repository.ResourceVersionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-resource change counters used to derive ETags for reference data.
+ * Write services bump the counter inside their own transaction, so a version
+ * is only visible once the change it describes has committed.
+ */
+@Service
+@RequiredArgsConstructor
+public class ResourceVersionService {
+
+    private final ResourceVersionRepository resourceVersionRepository;
+
+    @Transactional
+    public void bump(ResourceType... resources) {
+        for (ResourceType resource : resources) {
+            resourceVersionRepository.increment(resource);
+        }
+    }
+
+    // Not read-only on purpose: versions must come from the primary, never a lagging replica
+    @Transactional
+    public Map<ResourceType, Long> getVersions(ResourceType... resources) {
+        Map<ResourceType, Long> versions = new EnumMap<>(ResourceType.class);
+        for (ResourceVersion version : resourceVersionRepository.findAllById(Arrays.asList(resources))) {
+            versions.put(version.getResource(), version.getVersion());
+        }
+        return versions;
+    }
+}
@@ -0,0 +1,73 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.search.SearchResultResponse;
+import com.company.ems.api.dto.search.SearchResultType;
+import com.company.ems.repository.ClientRepository;
+import com.company.ems.repository.ProjectRepository;
+import com.company.ems.repository.SearchHit;
+import com.company.ems.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@Observed
+public class SearchService {
+
+    public static final int MIN_QUERY_LENGTH = 2;
+    public static final int MAX_LIMIT = 50;
+
+    private final ClientRepository clientRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+
+    /**
+     * Typeahead search backed by the pg_trgm indexes. Prefix matches rank above
+     * substring and fuzzy matches; each type is limited in SQL before merging.
+     */
+    @Transactional(readOnly = true)
+    public List<SearchResultResponse> search(String query, Set<SearchResultType> types, int limit) {
+        String normalized = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (normalized.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        String pattern = LikePatterns.escape(normalized);
+
+        List<SearchResultResponse> results = new ArrayList<>();
+        if (types.contains(SearchResultType.CLIENT)) {
+            addHits(results, SearchResultType.CLIENT,
+                    clientRepository.searchByName(normalized, pattern, boundedLimit));
+        }
+        if (types.contains(SearchResultType.PROJECT)) {
+            addHits(results, SearchResultType.PROJECT,
+                    projectRepository.searchByName(normalized, pattern, boundedLimit));
+        }
+        if (types.contains(SearchResultType.USER)) {
+            addHits(results, SearchResultType.USER,
+                    userRepository.searchByNameOrEmail(normalized, pattern, boundedLimit));
+        }
+
+        results.sort(Comparator.comparingDouble(SearchResultResponse::score).reversed()
+                .thenComparing(SearchResultResponse::label, Comparator.nullsLast(String::compareToIgnoreCase)));
+
+        return results.size() > boundedLimit ? results.subList(0, boundedLimit) : results;
+    }
+
+    private void addHits(List<SearchResultResponse> results, SearchResultType type, List<SearchHit> hits) {
+        for (SearchHit hit : hits) {
+            results.add(new SearchResultResponse(type, hit.getId(), hit.getLabel(), hit.getDetail(),
+                    hit.getScore() != null ? hit.getScore() : 0.0));
+        }
+    }
+}
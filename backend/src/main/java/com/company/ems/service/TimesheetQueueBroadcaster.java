@@ -0,0 +1,211 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.timesheet.TimesheetQueueEvent;
+import com.company.ems.api.dto.timesheet.TimesheetQueueEventType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes approval-queue changes to managers over server-sent events.
+ * Timesheet transitions are published as application events and fanned out
+ * here once their transaction commits. Each subscriber has a bounded buffer
+ * drained off the publishing thread; when a slow client overflows it, the
+ * buffer is replaced by a single RESYNC event telling it to refetch.
+ */
+@Slf4j
+@Service
+public class TimesheetQueueBroadcaster {
+
+    private static final String EVENT_NAME = "timesheet-queue";
+
+    private final ConcurrentMap<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final Counter deliveredEvents;
+    private final Counter overflows;
+    private final long emitterTimeoutMs;
+    private final int bufferSize;
+
+    public TimesheetQueueBroadcaster(
+            MeterRegistry meterRegistry,
+            @Value("${app.timesheet-stream.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.timesheet-stream.buffer-size:64}") int bufferSize,
+            @Value("${app.timesheet-stream.dispatch-threads:2}") int dispatchThreads
+    ) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferSize = bufferSize;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "timesheet-stream-dispatch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.deliveredEvents = Counter.builder("ems.timesheet.stream.events")
+                .description("Approval-queue events delivered to stream subscribers")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("ems.timesheet.stream.overflows")
+                .description("Subscriber buffers that overflowed and were asked to resync")
+                .register(meterRegistry);
+        Gauge.builder("ems.timesheet.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open approval-queue streams")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Integer managerId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(managerId, emitter, bufferSize);
+
+        subscribers.compute(managerId, (id, set) -> {
+            Set<Subscriber> managerSubscribers = set != null ? set : new CopyOnWriteArraySet<>();
+            managerSubscribers.add(subscriber);
+            return managerSubscribers;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(ex -> unsubscribe(subscriber));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(TimesheetQueueEvent event) {
+        if (event.managerId() == null) {
+            return;
+        }
+        Set<Subscriber> managerSubscribers = subscribers.get(event.managerId());
+        if (managerSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : managerSubscribers) {
+            if (!subscriber.offer(event)) {
+                overflows.increment();
+            }
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies that close silent connections.
+     */
+    @Scheduled(fixedDelayString = "${app.timesheet-stream.heartbeat-interval-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> {
+            try {
+                synchronized (subscriber) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                subscriber.emitter.completeWithError(ex);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(set -> set.forEach(subscriber -> subscriber.emitter.complete()));
+        dispatcher.shutdownNow();
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            TimesheetQueueEvent event;
+            while ((event = subscriber.poll()) != null) {
+                synchronized (subscriber) {
+                    subscriber.emitter.send(SseEmitter.event()
+                            .name(EVENT_NAME)
+                            .id(event.timesheetId() != null ? String.valueOf(event.timesheetId()) : "resync")
+                            .data(event));
+                }
+                deliveredEvents.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dropping approval-queue stream for manager {}: {}", subscriber.managerId, ex.getMessage());
+            subscriber.emitter.completeWithError(ex);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // An event may have arrived between the last poll and releasing the flag
+        if (subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.managerId, (id, set) -> {
+            if (set.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static final class Subscriber {
+
+        private final Integer managerId;
+        private final SseEmitter emitter;
+        private final Queue<TimesheetQueueEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Integer managerId, SseEmitter emitter, int bufferSize) {
+            this.managerId = managerId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        /**
+         * Returns false if the buffer overflowed and was collapsed into a resync.
+         */
+        boolean offer(TimesheetQueueEvent event) {
+            if (buffer.offer(event)) {
+                return true;
+            }
+            synchronized (buffer) {
+                buffer.clear();
+                buffer.offer(TimesheetQueueEvent.resync(managerId));
+            }
+            return false;
+        }
+
+        TimesheetQueueEvent poll() {
+            synchronized (buffer) {
+                TimesheetQueueEvent event = buffer.poll();
+                // Once a resync is queued the remaining deltas are redundant
+                if (event != null && event.type() == TimesheetQueueEventType.RESYNC) {
+                    buffer.clear();
+                }
+                return event;
+            }
+        }
+
+        boolean hasPending() {
+            return !buffer.isEmpty();
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.company.ems.service;
 
+import com.company.ems.api.dto.timesheet.TimeEntryRequest;
 import com.company.ems.api.dto.timesheet.TimesheetApprovalRequest;
+import com.company.ems.api.dto.timesheet.TimesheetApprovalResult;
+import com.company.ems.api.dto.timesheet.TimesheetBatchRequest;
+import com.company.ems.api.dto.timesheet.TimesheetBatchResponse;
+import com.company.ems.api.dto.timesheet.TimesheetBulkApprovalRequest;
+import com.company.ems.api.dto.timesheet.TimesheetBulkApprovalResponse;
+import com.company.ems.api.dto.timesheet.TimesheetQueueEvent;
+import com.company.ems.api.dto.timesheet.TimesheetQueueEventType;
 import com.company.ems.api.dto.timesheet.TimesheetRequest;
 import com.company.ems.api.dto.timesheet.TimesheetResponse;
+import com.company.ems.api.dto.timesheet.TimesheetSummaryResponse;
+import com.company.ems.api.dto.timesheet.TimesheetWeekRequest;
+import com.company.ems.api.dto.timesheet.TimesheetWeekResult;
 import com.company.ems.domain.*;
 import com.company.ems.mapper.TimesheetMapper;
 import com.company.ems.repository.ProjectRepository;
+import com.company.ems.repository.TimesheetApprovalCandidate;
 import com.company.ems.repository.TimesheetRepository;
 import com.company.ems.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -19,16 +33,27 @@ import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed
 public class TimesheetService {
 
     private final TimesheetRepository timesheetRepository;
     private final UserRepository userRepository;
     private final ProjectRepository projectRepository;
     private final TimesheetMapper timesheetMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public Page<TimesheetResponse> getTimesheetsByUserId(Integer userId, Pageable pageable) {
@@ -36,6 +61,12 @@ public class TimesheetService {
                 .map(timesheetMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<TimesheetSummaryResponse> getTimesheetSummariesByUserId(Integer userId, Pageable pageable) {
+        return timesheetRepository.findSummariesByUserId(userId, pageable)
+                .map(timesheetMapper::toSummaryResponse);
+    }
+
     @Transactional(readOnly = true)
     public TimesheetResponse getTimesheetById(Integer id) {
         Timesheet timesheet = timesheetRepository.findById(id)
@@ -49,74 +80,188 @@ public class TimesheetService {
                 .map(timesheetMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    public Page<TimesheetResponse> getPendingTimesheetsForOrg(Integer managerId, Pageable pageable) {
+        return timesheetRepository.findByOrgManagerIdAndStatus(managerId, TimesheetStatus.SUBMITTED, pageable)
+                .map(timesheetMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TimesheetSummaryResponse> getPendingTimesheetSummariesForManager(Integer managerId, Pageable pageable) {
+        return timesheetRepository.findSummariesByManagerIdAndStatus(managerId, TimesheetStatus.SUBMITTED, pageable)
+                .map(timesheetMapper::toSummaryResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<TimesheetSummaryResponse> getPendingTimesheetSummariesForOrg(Integer managerId, Pageable pageable) {
+        return timesheetRepository.findSummariesByOrgManagerIdAndStatus(managerId, TimesheetStatus.SUBMITTED, pageable)
+                .map(timesheetMapper::toSummaryResponse);
+    }
+
     @Transactional
-    public TimesheetResponse createOrUpdateTimesheet(Integer userId, TimesheetRequest request) {
+    public TimesheetResponse createOrUpdateTimesheet(Integer userId, TimesheetRequest request, Long expectedVersion) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
 
-        // Validate week start date is Sunday
-        if (request.weekStartDate().getDayOfWeek() != DayOfWeek.SUNDAY) {
-            throw new IllegalArgumentException("Week start date must be a Sunday");
-        }
-
-        LocalDate weekEndDate = request.weekStartDate().plusDays(6); // Saturday
+        validateWeekStart(request.weekStartDate());
 
         Timesheet timesheet = timesheetRepository
                 .findByUserIdAndWeekStartDate(userId, request.weekStartDate())
-                .orElse(Timesheet.builder()
-                        .user(user)
-                        .weekStartDate(request.weekStartDate())
-                        .status(TimesheetStatus.DRAFT)
-                        .build());
+                .orElse(newTimesheet(user, request.weekStartDate()));
+
+        checkEditable(timesheet, expectedVersion);
+
+        List<TimeEntry> entries = buildTimeEntries(request.weekStartDate(), request.timeEntries(),
+                projectId -> projectRepository.findById(projectId)
+                        .orElseThrow(() -> new EntityNotFoundException("Project not found")));
+        replaceTimeEntries(timesheet, entries);
+
+        timesheet = timesheetRepository.saveAndFlush(timesheet);
+        return timesheetMapper.toResponse(timesheet);
+    }
+
+    /**
+     * Upserts several weeks for one user in a single transaction. The user, the
+     * existing timesheets (with their entries) and every referenced project are
+     * each loaded with one query. Each week is validated on its own; weeks that
+     * fail are reported and left untouched while the others are saved.
+     */
+    @Transactional
+    public TimesheetBatchResponse upsertTimesheets(Integer userId, TimesheetBatchRequest request) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+
+        Set<LocalDate> weekStartDates = request.weeks().stream()
+                .map(TimesheetWeekRequest::weekStartDate)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<LocalDate, Timesheet> existing = timesheetRepository
+                .findWithEntriesByUserIdAndWeekStartDateIn(userId, weekStartDates)
+                .stream()
+                .collect(Collectors.toMap(Timesheet::getWeekStartDate, Function.identity()));
+
+        Set<Integer> projectIds = request.weeks().stream()
+                .filter(week -> week.timeEntries() != null)
+                .flatMap(week -> week.timeEntries().stream())
+                .map(TimeEntryRequest::projectId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Integer, Project> projects = projectRepository.findAllById(projectIds).stream()
+                .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Function<Integer, Project> projectLookup = projectId -> {
+            Project project = projects.get(projectId);
+            if (project == null) {
+                throw new EntityNotFoundException("Project not found with id: " + projectId);
+            }
+            return project;
+        };
+
+        Set<LocalDate> seen = new HashSet<>();
+        List<TimesheetWeekResult> results = new ArrayList<>(request.weeks().size());
+        // Result slot -> timesheet to save; slots are filled once the batch is flushed
+        Map<Integer, Timesheet> pending = new LinkedHashMap<>();
+
+        for (TimesheetWeekRequest week : request.weeks()) {
+            if (!seen.add(week.weekStartDate())) {
+                results.add(new TimesheetWeekResult(week.weekStartDate(), false, null,
+                        "Week appears more than once in the request"));
+                continue;
+            }
+            try {
+                validateWeekStart(week.weekStartDate());
+                Timesheet timesheet = existing.getOrDefault(week.weekStartDate(),
+                        newTimesheet(user, week.weekStartDate()));
+                checkEditable(timesheet, week.version());
+                // Everything is validated before the timesheet is touched, so a failed week
+                // never leaves a half-edited managed entity behind to be flushed
+                List<TimeEntry> entries = buildTimeEntries(week.weekStartDate(), week.timeEntries(), projectLookup);
+                replaceTimeEntries(timesheet, entries);
+                pending.put(results.size(), timesheet);
+                results.add(null);
+            } catch (IllegalArgumentException | IllegalStateException
+                     | EntityNotFoundException | VersionMismatchException ex) {
+                results.add(new TimesheetWeekResult(week.weekStartDate(), false, null, ex.getMessage()));
+            }
+        }
+
+        // save() hands back the same instances for new and managed timesheets, now carrying ids and versions
+        timesheetRepository.saveAllAndFlush(pending.values());
+        pending.forEach((slot, timesheet) -> results.set(slot, new TimesheetWeekResult(
+                timesheet.getWeekStartDate(), true, timesheetMapper.toResponse(timesheet), null)));
+
+        return new TimesheetBatchResponse(pending.size(), results.size() - pending.size(), results);
+    }
+
+    private static Timesheet newTimesheet(User user, LocalDate weekStartDate) {
+        return Timesheet.builder()
+                .user(user)
+                .weekStartDate(weekStartDate)
+                .status(TimesheetStatus.DRAFT)
+                .build();
+    }
+
+    private static void validateWeekStart(LocalDate weekStartDate) {
+        if (weekStartDate.getDayOfWeek() != DayOfWeek.SUNDAY) {
+            throw new IllegalArgumentException("Week start date must be a Sunday");
+        }
+    }
+
+    private static void checkEditable(Timesheet timesheet, Long expectedVersion) {
+        VersionMismatchException.verify("Timesheet", expectedVersion, timesheet.getVersion());
 
         if (timesheet.getStatus() != TimesheetStatus.DRAFT &&
             timesheet.getStatus() != TimesheetStatus.REJECTED) {
             throw new IllegalStateException("Cannot modify a submitted or approved timesheet");
         }
+    }
 
-        // Clear existing entries and add new ones
-        timesheet.getTimeEntries().clear();
+    /**
+     * Validates the requested entries against the week and builds them, without
+     * attaching them to a timesheet.
+     */
+    private List<TimeEntry> buildTimeEntries(LocalDate weekStartDate, List<TimeEntryRequest> entryRequests,
+                                             Function<Integer, Project> projectLookup) {
+        if (entryRequests == null || entryRequests.isEmpty()) {
+            return List.of();
+        }
 
-        if (request.timeEntries() != null && !request.timeEntries().isEmpty()) {
-            for (var entryRequest : request.timeEntries()) {
-                // Validate entry date is within the week
-                if (entryRequest.entryDate().isBefore(request.weekStartDate()) ||
-                    entryRequest.entryDate().isAfter(weekEndDate)) {
-                    throw new IllegalArgumentException(
-                        String.format("Entry date %s must be within the week (%s to %s)",
-                            entryRequest.entryDate(), request.weekStartDate(), weekEndDate)
-                    );
-                }
-
-                // Validate project is required for billable entries
-                if (entryRequest.taskType() == TaskType.BILLABLE && entryRequest.projectId() == null) {
-                    throw new IllegalArgumentException("Project is required for billable time entries");
-                }
-
-                TimeEntry entry = timesheetMapper.toTimeEntry(entryRequest);
-
-                if (entryRequest.projectId() != null) {
-                    Project project = projectRepository.findById(entryRequest.projectId())
-                            .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-                    entry.setProject(project);
-                } else {
-                    // Clear project for non-billable entries
-                    entry.setProject(null);
-                }
-
-                timesheet.addTimeEntry(entry);
+        LocalDate weekEndDate = weekStartDate.plusDays(6); // Saturday
+        List<TimeEntry> entries = new ArrayList<>(entryRequests.size());
+
+        for (var entryRequest : entryRequests) {
+            // Validate entry date is within the week
+            if (entryRequest.entryDate().isBefore(weekStartDate) ||
+                entryRequest.entryDate().isAfter(weekEndDate)) {
+                throw new IllegalArgumentException(
+                    String.format("Entry date %s must be within the week (%s to %s)",
+                        entryRequest.entryDate(), weekStartDate, weekEndDate)
+                );
             }
+
+            // Validate project is required for billable entries
+            if (entryRequest.taskType() == TaskType.BILLABLE && entryRequest.projectId() == null) {
+                throw new IllegalArgumentException("Project is required for billable time entries");
+            }
+
+            TimeEntry entry = timesheetMapper.toTimeEntry(entryRequest);
+            // Non-billable entries may omit the project
+            entry.setProject(entryRequest.projectId() != null ? projectLookup.apply(entryRequest.projectId()) : null);
+            entries.add(entry);
         }
+        return entries;
+    }
 
-        timesheet = timesheetRepository.save(timesheet);
-        return timesheetMapper.toResponse(timesheet);
+    private static void replaceTimeEntries(Timesheet timesheet, List<TimeEntry> entries) {
+        timesheet.getTimeEntries().clear();
+        entries.forEach(timesheet::addTimeEntry);
     }
 
     @Transactional
-    public TimesheetResponse submitTimesheet(Integer timesheetId) {
+    public TimesheetResponse submitTimesheet(Integer timesheetId, Long expectedVersion) {
         Timesheet timesheet = timesheetRepository.findById(timesheetId)
                 .orElseThrow(() -> new EntityNotFoundException("Timesheet not found"));
 
+        VersionMismatchException.verify("Timesheet", expectedVersion, timesheet.getVersion());
+
         if (timesheet.getStatus() != TimesheetStatus.DRAFT &&
             timesheet.getStatus() != TimesheetStatus.REJECTED) {
             throw new IllegalStateException("Timesheet is not in a submittable state");
@@ -152,15 +297,19 @@ public class TimesheetService {
         timesheet.setSubmittedAt(LocalDateTime.now());
         timesheet.setRejectionComments(null);
 
-        timesheet = timesheetRepository.save(timesheet);
+        timesheet = timesheetRepository.saveAndFlush(timesheet);
+        eventPublisher.publishEvent(timesheetMapper.toQueueEvent(timesheet, TimesheetQueueEventType.SUBMITTED));
         return timesheetMapper.toResponse(timesheet);
     }
 
     @Transactional
-    public TimesheetResponse approveOrRejectTimesheet(Integer timesheetId, TimesheetApprovalRequest request) {
+    public TimesheetResponse approveOrRejectTimesheet(Integer timesheetId, TimesheetApprovalRequest request,
+                                                      Long expectedVersion) {
         Timesheet timesheet = timesheetRepository.findById(timesheetId)
                 .orElseThrow(() -> new EntityNotFoundException("Timesheet not found"));
 
+        VersionMismatchException.verify("Timesheet", expectedVersion, timesheet.getVersion());
+
         if (timesheet.getStatus() != TimesheetStatus.SUBMITTED) {
             throw new IllegalStateException("Only submitted timesheets can be approved or rejected");
         }
@@ -178,15 +327,104 @@ public class TimesheetService {
             timesheet.setApprovedAt(null);
         }
 
-        timesheet = timesheetRepository.save(timesheet);
+        timesheet = timesheetRepository.saveAndFlush(timesheet);
+        eventPublisher.publishEvent(timesheetMapper.toQueueEvent(timesheet,
+                request.approved() ? TimesheetQueueEventType.APPROVED : TimesheetQueueEventType.REJECTED));
         return timesheetMapper.toResponse(timesheet);
     }
 
+    /**
+     * Approves or rejects many submitted timesheets in one set-based update.
+     * Managers may only act on timesheets of their direct reports; admins may act on any.
+     * Ineligible ids are reported per id instead of failing the whole batch.
+     */
     @Transactional
-    public void deleteTimesheet(Integer id) {
+    public TimesheetBulkApprovalResponse bulkApproveOrRejectTimesheets(String approverEmail,
+                                                                       TimesheetBulkApprovalRequest request) {
+        User approver = userRepository.findByEmail(approverEmail)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + approverEmail));
+
+        if (!request.approved() && (request.comments() == null || request.comments().isBlank())) {
+            throw new IllegalArgumentException("Rejection comments are required");
+        }
+
+        Set<Integer> requestedIds = new LinkedHashSet<>(request.timesheetIds());
+        Map<Integer, TimesheetApprovalCandidate> candidates = timesheetRepository
+                .findApprovalCandidatesByIdIn(requestedIds)
+                .stream()
+                .collect(Collectors.toMap(TimesheetApprovalCandidate::getId, Function.identity()));
+
+        boolean isAdmin = approver.getRole() == UserRole.ROLE_ADMIN;
+        Map<Integer, String> failures = new HashMap<>();
+        List<Integer> eligibleIds = new ArrayList<>();
+
+        for (Integer id : requestedIds) {
+            TimesheetApprovalCandidate candidate = candidates.get(id);
+            if (candidate == null) {
+                failures.put(id, "Timesheet not found");
+            } else if (!isAdmin && !approver.getId().equals(candidate.getManagerId())) {
+                failures.put(id, "Timesheet does not belong to one of your direct reports");
+            } else if (candidate.getStatus() != TimesheetStatus.SUBMITTED) {
+                failures.put(id, "Only submitted timesheets can be approved or rejected");
+            } else {
+                eligibleIds.add(id);
+            }
+        }
+
+        TimesheetStatus newStatus = request.approved() ? TimesheetStatus.APPROVED : TimesheetStatus.REJECTED;
+
+        if (!eligibleIds.isEmpty()) {
+            int updated = timesheetRepository.updateStatusByIdInAndStatus(
+                    eligibleIds,
+                    TimesheetStatus.SUBMITTED,
+                    newStatus,
+                    request.approved() ? LocalDateTime.now() : null,
+                    request.approved() ? null : request.comments());
+
+            // Another request moved some of these out of SUBMITTED between the check and the update
+            if (updated != eligibleIds.size()) {
+                timesheetRepository.findApprovalCandidatesByIdIn(eligibleIds).stream()
+                        .filter(candidate -> candidate.getStatus() != newStatus)
+                        .forEach(candidate -> {
+                            failures.put(candidate.getId(), "Timesheet was modified by another request");
+                            candidates.put(candidate.getId(), candidate);
+                        });
+            }
+        }
+
+        TimesheetQueueEventType eventType = request.approved()
+                ? TimesheetQueueEventType.APPROVED
+                : TimesheetQueueEventType.REJECTED;
+        LocalDateTime now = LocalDateTime.now();
+
+        List<TimesheetApprovalResult> results = new ArrayList<>(requestedIds.size());
+        for (Integer id : requestedIds) {
+            String failure = failures.get(id);
+            if (failure == null) {
+                results.add(new TimesheetApprovalResult(id, true, newStatus, null));
+                TimesheetApprovalCandidate candidate = candidates.get(id);
+                eventPublisher.publishEvent(new TimesheetQueueEvent(eventType, id, candidate.getManagerId(),
+                        candidate.getUserId(), null, null, newStatus, null, null, now));
+            } else {
+                TimesheetApprovalCandidate candidate = candidates.get(id);
+                results.add(new TimesheetApprovalResult(id, false,
+                        candidate != null ? candidate.getStatus() : null, failure));
+            }
+        }
+
+        return new TimesheetBulkApprovalResponse(
+                requestedIds.size() - failures.size(),
+                failures.size(),
+                results);
+    }
+
+    @Transactional
+    public void deleteTimesheet(Integer id, Long expectedVersion) {
         Timesheet timesheet = timesheetRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Timesheet not found"));
 
+        VersionMismatchException.verify("Timesheet", expectedVersion, timesheet.getVersion());
+
         if (timesheet.getStatus() != TimesheetStatus.DRAFT) {
             throw new IllegalStateException("Only draft timesheets can be deleted");
         }
@@ -1,11 +1,18 @@
 package com.company.ems.service;
 
+import com.company.ems.api.dto.user.OrgHoursRollupResponse;
+import com.company.ems.api.dto.user.OrgMemberHoursResponse;
 import com.company.ems.api.dto.user.UserRequest;
 import com.company.ems.api.dto.user.UserResponse;
+import com.company.ems.domain.ResourceType;
 import com.company.ems.domain.User;
 import com.company.ems.domain.UserRole;
 import com.company.ems.mapper.UserMapper;
+import com.company.ems.repository.OrgMemberHours;
+import com.company.ems.repository.TimeEntryRepository;
+import com.company.ems.repository.UserHierarchyRepository;
 import com.company.ems.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -14,16 +21,23 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Observed
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserHierarchyRepository userHierarchyRepository;
+    private final TimeEntryRepository timeEntryRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final ResourceVersionService resourceVersionService;
 
     @Transactional(readOnly = true)
     public Page<UserResponse> getAllUsers(Pageable pageable) {
@@ -53,6 +67,45 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
+    public Page<UserResponse> getOrgMembers(Integer managerId, Pageable pageable) {
+        if (!userRepository.existsById(managerId)) {
+            throw new EntityNotFoundException("User not found with id: " + managerId);
+        }
+        return userRepository.findActiveOrgMembersByManagerId(managerId, pageable)
+                .map(userMapper::toResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public OrgHoursRollupResponse getOrgHoursRollup(Integer managerId, LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (!userRepository.existsById(managerId)) {
+            throw new EntityNotFoundException("User not found with id: " + managerId);
+        }
+
+        List<OrgMemberHours> rows = timeEntryRepository
+                .sumHoursByOrgManagerIdAndDateRange(managerId, startDate, endDate);
+
+        BigDecimal totalHours = BigDecimal.ZERO;
+        BigDecimal billableHours = BigDecimal.ZERO;
+        for (OrgMemberHours row : rows) {
+            totalHours = totalHours.add(row.getTotalHours());
+            billableHours = billableHours.add(row.getBillableHours());
+        }
+
+        List<OrgMemberHoursResponse> members = rows.stream()
+                .map(row -> new OrgMemberHoursResponse(
+                        row.getUserId(),
+                        row.getFirstName() + " " + row.getLastName(),
+                        row.getTotalHours(),
+                        row.getBillableHours()))
+                .collect(Collectors.toList());
+
+        return new OrgHoursRollupResponse(managerId, startDate, endDate, totalHours, billableHours, members);
+    }
+
     @Transactional
     public UserResponse createUser(UserRequest request) {
         if (userRepository.existsByEmail(request.email())) {
@@ -84,6 +137,13 @@ public class UserService {
         }
 
         user = userRepository.save(user);
+
+        userHierarchyRepository.insertSelf(user.getId());
+        if (user.getManager() != null) {
+            userHierarchyRepository.attachSubtree(user.getId(), user.getManager().getId());
+        }
+        resourceVersionService.bump(ResourceType.USERS);
+
         return userMapper.toResponse(user);
     }
 
@@ -97,6 +157,8 @@ public class UserService {
             throw new IllegalArgumentException("User with this email already exists");
         }
 
+        Integer previousManagerId = user.getManager() != null ? user.getManager().getId() : null;
+
         userMapper.updateEntity(user, request);
 
         if (request.password() != null && !request.password().isBlank()) {
@@ -120,7 +182,20 @@ public class UserService {
             user.setManager(null);
         }
 
+        Integer newManagerId = user.getManager() != null ? user.getManager().getId() : null;
+        if (!Objects.equals(previousManagerId, newManagerId)) {
+            // Reject cycles: the new manager must not be the user or one of their reports
+            if (newManagerId != null && userHierarchyRepository.existsPath(id, newManagerId)) {
+                throw new IllegalArgumentException("A user cannot report to themselves or to one of their reports");
+            }
+            userHierarchyRepository.detachSubtree(id);
+            if (newManagerId != null) {
+                userHierarchyRepository.attachSubtree(id, newManagerId);
+            }
+        }
+
         user = userRepository.save(user);
+        resourceVersionService.bump(ResourceType.USERS);
         return userMapper.toResponse(user);
     }
 
@@ -129,7 +204,10 @@ public class UserService {
         if (!userRepository.existsById(id)) {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
+        // Direct reports lose their manager (ON DELETE SET NULL), so their subtrees become roots
+        userHierarchyRepository.detachSubtree(id);
         userRepository.deleteById(id);
+        resourceVersionService.bump(ResourceType.USERS, ResourceType.PROJECT_ASSIGNMENTS);
     }
 
     @Transactional
@@ -138,6 +216,7 @@ public class UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
         user.setIsActive(false);
         user = userRepository.save(user);
+        resourceVersionService.bump(ResourceType.USERS);
         return userMapper.toResponse(user);
     }
 }
@@ -0,0 +1,20 @@
+package com.company.ems.service;
+
+/**
+ * Thrown when a conditional update names a version (via {@code If-Match})
+ * that no longer matches the stored entity.
+ */
+public class VersionMismatchException extends RuntimeException {
+
+    public VersionMismatchException(String message) {
+        super(message);
+    }
+
+    public static void verify(String entityName, Long expectedVersion, Long actualVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(actualVersion)) {
+            throw new VersionMismatchException(String.format(
+                    "%s has been modified (expected version %d, current version %s)",
+                    entityName, expectedVersion, actualVersion));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+-- Effective-dated billing rates. A card applies to one user on a project, or to
+-- everyone with a job title on the project; users without a matching card are
+-- billed at projects.default_billable_rate. effective_to is inclusive, NULL = open-ended.
+CREATE TABLE rate_cards (
+    id INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    project_id INT NOT NULL REFERENCES projects(id) ON DELETE CASCADE,
+    user_id INT REFERENCES users(id) ON DELETE CASCADE,
+    job_title VARCHAR(255),
+    rate NUMERIC(10, 2) NOT NULL CHECK (rate > 0),
+    effective_from DATE NOT NULL,
+    effective_to DATE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT rate_cards_single_target CHECK ((user_id IS NULL) <> (job_title IS NULL)),
+    CONSTRAINT rate_cards_valid_range CHECK (effective_to IS NULL OR effective_to >= effective_from)
+);
+
+CREATE INDEX idx_rate_cards_project_user ON rate_cards (project_id, user_id, effective_from);
+CREATE INDEX idx_rate_cards_project_title ON rate_cards (project_id, job_title, effective_from);
+
+INSERT INTO resource_versions (resource, version) VALUES ('RATE_CARDS', 0);
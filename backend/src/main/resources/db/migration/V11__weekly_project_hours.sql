@@ -0,0 +1,20 @@
+-- Billable hours per user, project and timesheet week, pre-aggregated for the
+-- capacity forecast. Only submitted and approved weeks count as history.
+-- Refreshed by ForecastService; the unique index allows REFRESH ... CONCURRENTLY
+-- so readers are never blocked while it rebuilds.
+CREATE MATERIALIZED VIEW weekly_project_hours AS
+SELECT ts.user_id,
+       te.project_id,
+       ts.week_start_date,
+       SUM(te.hours) AS billable_hours
+FROM time_entries te
+JOIN timesheets ts ON ts.id = te.timesheet_id
+WHERE te.project_id IS NOT NULL
+  AND te.task_type = 'BILLABLE'
+  AND ts.status IN ('SUBMITTED', 'APPROVED')
+GROUP BY ts.user_id, te.project_id, ts.week_start_date;
+
+CREATE UNIQUE INDEX ux_weekly_project_hours ON weekly_project_hours (week_start_date, project_id, user_id);
+
+-- Bumped after every refresh; forecasts are cached per version
+INSERT INTO resource_versions (resource, version) VALUES ('WEEKLY_HOURS', 0);
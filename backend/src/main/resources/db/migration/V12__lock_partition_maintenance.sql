@@ -0,0 +1,78 @@
+-- Re-creates the V5 partition maintenance functions with a transaction-scoped
+-- advisory lock. Both functions take the same lock, so archiving cannot detach a
+-- partition while another caller is creating one either.
+
+-- Creates the quarterly partitions covering [from_date, to_date]. Rows that
+-- already landed in the default partition for a new range are moved into it.
+CREATE OR REPLACE FUNCTION ensure_time_entry_partitions(from_date DATE, to_date DATE)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    quarter_start DATE := date_trunc('quarter', from_date)::date;
+    quarter_end DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    -- Serializes concurrent callers (instances starting together, startup and the
+    -- nightly job) so the to_regclass check and the CREATE/ATTACH cannot race
+    PERFORM pg_advisory_xact_lock(hashtext('time_entries_partitions'));
+
+    WHILE quarter_start <= to_date LOOP
+        quarter_end := (quarter_start + INTERVAL '3 months')::date;
+        partition_name := format('time_entries_%s_q%s',
+                                 to_char(quarter_start, 'YYYY'),
+                                 to_char(quarter_start, 'Q'));
+
+        IF to_regclass('public.' || partition_name) IS NULL
+           AND to_regclass('archive.' || partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE time_entries INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM time_entries_default '
+                           'WHERE entry_date >= %L AND entry_date < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           quarter_start, quarter_end, partition_name);
+            EXECUTE format('ALTER TABLE time_entries ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, quarter_start, quarter_end);
+            created := created + 1;
+        END IF;
+
+        quarter_start := quarter_end;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Detaches every partition whose range ends on or before before_date and
+-- moves it into the archive schema. Returns the number of partitions archived.
+CREATE OR REPLACE FUNCTION archive_time_entry_partitions(before_date DATE)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    part RECORD;
+    upper_bound DATE;
+    archived INT := 0;
+BEGIN
+    -- Same lock as ensure_time_entry_partitions
+    PERFORM pg_advisory_xact_lock(hashtext('time_entries_partitions'));
+
+    FOR part IN
+        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'public.time_entries'::regclass
+    LOOP
+        upper_bound := substring(part.bound FROM 'TO \(''([0-9-]+)''\)')::date;
+
+        IF upper_bound IS NOT NULL AND upper_bound <= before_date THEN
+            EXECUTE format('ALTER TABLE time_entries DETACH PARTITION %I', part.relname);
+            EXECUTE format('ALTER TABLE %I SET SCHEMA archive', part.relname);
+            archived := archived + 1;
+        END IF;
+    END LOOP;
+
+    RETURN archived;
+END;
+$$;
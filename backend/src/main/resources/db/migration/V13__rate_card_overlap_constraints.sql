@@ -0,0 +1,22 @@
+-- One rate per target per day, enforced by the database: RateCardService checks
+-- for overlaps first to report the conflicting card, but two concurrent writes
+-- can both pass that check. effective_to is inclusive and NULL is open-ended,
+-- which is what daterange(from, to, '[]') means. Job titles are compared the way
+-- RateCardIndex.normalize compares them (stored titles are already trimmed).
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE rate_cards
+    ADD CONSTRAINT rate_cards_no_overlap_user
+    EXCLUDE USING gist (
+        project_id WITH =,
+        user_id WITH =,
+        daterange(effective_from, effective_to, '[]') WITH &&
+    ) WHERE (user_id IS NOT NULL);
+
+ALTER TABLE rate_cards
+    ADD CONSTRAINT rate_cards_no_overlap_job_title
+    EXCLUDE USING gist (
+        project_id WITH =,
+        lower(job_title) WITH =,
+        daterange(effective_from, effective_to, '[]') WITH &&
+    ) WHERE (job_title IS NOT NULL);
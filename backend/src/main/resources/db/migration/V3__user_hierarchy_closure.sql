@@ -0,0 +1,29 @@
+-- Closure table materializing the reports_to_manager_id hierarchy.
+-- Every user has a self row (depth 0) plus one row per ancestor, so a whole
+-- org subtree can be answered with a single indexed lookup on ancestor_id.
+CREATE TABLE user_hierarchy (
+    ancestor_id INT NOT NULL,
+    descendant_id INT NOT NULL,
+    depth INT NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    CONSTRAINT fk_uh_ancestor FOREIGN KEY (ancestor_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT fk_uh_descendant FOREIGN KEY (descendant_id) REFERENCES users(id) ON DELETE CASCADE,
+    CONSTRAINT chk_user_hierarchy_depth CHECK (depth >= 0)
+);
+
+CREATE INDEX idx_user_hierarchy_descendant ON user_hierarchy(descendant_id, ancestor_id);
+
+-- Backfill from the existing adjacency list (cycles, if any, are cut)
+INSERT INTO user_hierarchy (ancestor_id, descendant_id, depth)
+WITH RECURSIVE tree AS (
+    SELECT id AS ancestor_id, id AS descendant_id, 0 AS depth
+    FROM users
+    UNION ALL
+    SELECT t.ancestor_id, u.id, t.depth + 1
+    FROM tree t
+    JOIN users u ON u.reports_to_manager_id = t.descendant_id
+) CYCLE descendant_id SET is_cycle USING path
+SELECT ancestor_id, descendant_id, MIN(depth)
+FROM tree
+WHERE NOT is_cycle
+GROUP BY ancestor_id, descendant_id;
@@ -0,0 +1,9 @@
+-- Trigram indexes backing substring and fuzzy (typeahead) search.
+-- Expressions must match the ones used by the repository search queries.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_clients_name_trgm ON clients USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_projects_name_trgm ON projects USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_users_full_name_trgm ON users
+    USING gin (lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '')) gin_trgm_ops);
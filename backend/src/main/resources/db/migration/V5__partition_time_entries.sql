@@ -0,0 +1,120 @@
+-- Range-partition time_entries by entry_date (one partition per quarter).
+--
+-- timesheets stays a regular table: it is the target of fk_te_timesheet, and a
+-- partitioned parent can only be referenced through a key that includes the
+-- partition column, which time_entries does not carry.
+
+CREATE SCHEMA IF NOT EXISTS archive;
+
+-- Move the existing table out of the way
+ALTER TABLE time_entries RENAME TO time_entries_legacy;
+ALTER INDEX time_entries_pkey RENAME TO time_entries_legacy_pkey;
+ALTER SEQUENCE time_entries_id_seq RENAME TO time_entries_legacy_id_seq;
+DROP INDEX idx_time_entries_timesheet;
+DROP INDEX idx_time_entries_project;
+
+CREATE TABLE time_entries (
+    id INT GENERATED BY DEFAULT AS IDENTITY,
+    timesheet_id INT NOT NULL,
+    project_id INT,
+    entry_date DATE NOT NULL,
+    hours NUMERIC(4, 2) NOT NULL,
+    task_type VARCHAR(20) NOT NULL,
+    notes TEXT,
+    PRIMARY KEY (id, entry_date),
+    CONSTRAINT fk_te_timesheet FOREIGN KEY (timesheet_id) REFERENCES timesheets(id) ON DELETE CASCADE,
+    CONSTRAINT fk_te_project FOREIGN KEY (project_id) REFERENCES projects(id) ON DELETE SET NULL,
+    CONSTRAINT chk_time_entries_hours_positive CHECK (hours > 0)
+) PARTITION BY RANGE (entry_date);
+
+-- Catches rows outside of any created range so inserts never fail
+CREATE TABLE time_entries_default PARTITION OF time_entries DEFAULT;
+
+CREATE INDEX idx_time_entries_timesheet ON time_entries(timesheet_id);
+CREATE INDEX idx_time_entries_project ON time_entries(project_id);
+
+COMMENT ON COLUMN time_entries.entry_date IS 'Entry date must be within the timesheet week (Sunday to Saturday). This is enforced at the application level. Partition key.';
+
+-- Creates the quarterly partitions covering [from_date, to_date]. Rows that
+-- already landed in the default partition for a new range are moved into it.
+CREATE OR REPLACE FUNCTION ensure_time_entry_partitions(from_date DATE, to_date DATE)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    quarter_start DATE := date_trunc('quarter', from_date)::date;
+    quarter_end DATE;
+    partition_name TEXT;
+    created INT := 0;
+BEGIN
+    WHILE quarter_start <= to_date LOOP
+        quarter_end := (quarter_start + INTERVAL '3 months')::date;
+        partition_name := format('time_entries_%s_q%s',
+                                 to_char(quarter_start, 'YYYY'),
+                                 to_char(quarter_start, 'Q'));
+
+        IF to_regclass('public.' || partition_name) IS NULL
+           AND to_regclass('archive.' || partition_name) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I (LIKE time_entries INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+                           partition_name);
+            EXECUTE format('WITH moved AS (DELETE FROM time_entries_default '
+                           'WHERE entry_date >= %L AND entry_date < %L RETURNING *) '
+                           'INSERT INTO %I SELECT * FROM moved',
+                           quarter_start, quarter_end, partition_name);
+            EXECUTE format('ALTER TABLE time_entries ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                           partition_name, quarter_start, quarter_end);
+            created := created + 1;
+        END IF;
+
+        quarter_start := quarter_end;
+    END LOOP;
+
+    RETURN created;
+END;
+$$;
+
+-- Detaches every partition whose range ends on or before before_date and
+-- moves it into the archive schema. Returns the number of partitions archived.
+CREATE OR REPLACE FUNCTION archive_time_entry_partitions(before_date DATE)
+RETURNS INT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    part RECORD;
+    upper_bound DATE;
+    archived INT := 0;
+BEGIN
+    FOR part IN
+        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'public.time_entries'::regclass
+    LOOP
+        upper_bound := substring(part.bound FROM 'TO \(''([0-9-]+)''\)')::date;
+
+        IF upper_bound IS NOT NULL AND upper_bound <= before_date THEN
+            EXECUTE format('ALTER TABLE time_entries DETACH PARTITION %I', part.relname);
+            EXECUTE format('ALTER TABLE %I SET SCHEMA archive', part.relname);
+            archived := archived + 1;
+        END IF;
+    END LOOP;
+
+    RETURN archived;
+END;
+$$;
+
+-- Partitions for existing data plus the coming year, then copy rows over
+SELECT ensure_time_entry_partitions(
+    COALESCE((SELECT MIN(entry_date) FROM time_entries_legacy), CURRENT_DATE),
+    (CURRENT_DATE + INTERVAL '1 year')::date
+);
+
+INSERT INTO time_entries (id, timesheet_id, project_id, entry_date, hours, task_type, notes)
+SELECT id, timesheet_id, project_id, entry_date, hours, task_type, notes
+FROM time_entries_legacy;
+
+SELECT setval(pg_get_serial_sequence('time_entries', 'id'),
+              COALESCE((SELECT MAX(id) FROM time_entries), 0) + 1,
+              false);
+
+DROP TABLE time_entries_legacy;
@@ -0,0 +1,56 @@
+-- Composite and partial indexes matched to the repository query shapes.
+-- Single-column indexes that become a leading prefix of a new composite
+-- index, or duplicate a UNIQUE constraint, are dropped.
+
+-- users
+-- findByEmail / existsByEmail use the UNIQUE(email) index
+DROP INDEX IF EXISTS idx_users_email;
+-- UserRepository.findByFilters, findByIsActiveTrue
+CREATE INDEX idx_users_active_role_department ON users(role, department) WHERE is_active = true;
+
+-- projects
+-- ProjectRepository.findByClientId, findByClientIdAndStatus
+DROP INDEX IF EXISTS idx_projects_client;
+CREATE INDEX idx_projects_client_status ON projects(client_id, status);
+-- ProjectRepository.findByStatus, findAllActiveProjects, findActiveProjectsByUserId
+CREATE INDEX idx_projects_status ON projects(status);
+
+-- project_assignments
+-- findByUserId / findByUserIdAndProjectId use UNIQUE(user_id, project_id);
+-- findByProjectId, findAllByProjectId need the reverse order
+CREATE INDEX idx_project_assignments_project_user ON project_assignments(project_id, user_id);
+
+-- timesheets
+-- findByUserIdAndWeekStartDate / findByUserId use UNIQUE(user_id, week_start_date)
+DROP INDEX IF EXISTS idx_timesheets_user_week;
+-- TimesheetRepository.findByStatus, findByDateRangeAndFilters(status)
+DROP INDEX IF EXISTS idx_timesheets_status;
+CREATE INDEX idx_timesheets_status_user ON timesheets(status, user_id);
+-- findByManagerIdAndStatus, findByOrgManagerIdAndStatus: the SUBMITTED queue is small
+CREATE INDEX idx_timesheets_submitted_user ON timesheets(user_id, week_start_date) WHERE status = 'SUBMITTED';
+-- findByDateRangeAndFilters
+CREATE INDEX idx_timesheets_week_start ON timesheets(week_start_date);
+
+-- time_entries (partitioned: indexes cascade to every partition)
+-- findByTimesheetId, findByUserIdAndDateRange, sumHoursByOrgManagerIdAndDateRange
+DROP INDEX IF EXISTS idx_time_entries_timesheet;
+CREATE INDEX idx_time_entries_timesheet_date ON time_entries(timesheet_id, entry_date);
+-- findByProjectIdAndDateRange, findBillableEntriesByClientAndDateRange
+DROP INDEX IF EXISTS idx_time_entries_project;
+CREATE INDEX idx_time_entries_project_date ON time_entries(project_id, entry_date);
+
+-- invoices
+-- findByClientId, findByFilters(clientId, dates)
+DROP INDEX IF EXISTS idx_invoices_client;
+CREATE INDEX idx_invoices_client_issue_date ON invoices(client_id, issue_date);
+-- findByStatus, findOverdueInvoices, findByFilters(status, dates)
+DROP INDEX IF EXISTS idx_invoices_status;
+CREATE INDEX idx_invoices_status_issue_date ON invoices(status, issue_date);
+-- findByFilters(dates only)
+CREATE INDEX idx_invoices_issue_date ON invoices(issue_date);
+
+-- payments
+-- findByInvoiceId, findByClientIdAndDateRange (joined through invoices)
+DROP INDEX IF EXISTS idx_payments_invoice;
+CREATE INDEX idx_payments_invoice_date ON payments(invoice_id, payment_date);
+CREATE INDEX idx_payments_payment_date ON payments(payment_date);
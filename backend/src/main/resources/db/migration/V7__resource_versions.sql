@@ -0,0 +1,12 @@
+-- Per-resource change counters backing HTTP ETags on reference endpoints.
+-- Bumped by the write services in the same transaction as the change.
+CREATE TABLE resource_versions (
+    resource VARCHAR(50) PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO resource_versions (resource, version) VALUES
+    ('CLIENTS', 0),
+    ('PROJECTS', 0),
+    ('PROJECT_ASSIGNMENTS', 0),
+    ('USERS', 0);
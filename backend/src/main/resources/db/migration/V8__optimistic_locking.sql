@@ -0,0 +1,3 @@
+-- Optimistic locking versions for entities edited concurrently
+ALTER TABLE timesheets ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE invoices ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,190 @@
+package com.company.ems.config;
+
+import com.company.ems.api.dto.timesheet.TimeEntryRequest;
+import com.company.ems.api.dto.timesheet.TimesheetRequest;
+import com.company.ems.domain.IdempotencyRecordId;
+import com.company.ems.domain.IdempotencyStatus;
+import com.company.ems.domain.TaskType;
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import com.company.ems.repository.IdempotencyRecordRepository;
+import com.company.ems.repository.UserRepository;
+import com.company.ems.service.TimesheetService;
+import com.company.ems.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Sends keyed timesheet POSTs through the real filter, service and database. The
+ * service is slowed down so that concurrent duplicates genuinely overlap with the
+ * request that owns the key.
+ */
+@AutoConfigureMockMvc
+class IdempotencyFilterTest extends PostgresIntegrationTest {
+
+    private static final String PRINCIPAL = "idempotency-admin";
+    private static final LocalDate WEEK = LocalDate.of(2024, 3, 3);
+
+    @SpyBean
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void slowDownTimesheetWrites() {
+        doAnswer(invocation -> {
+            Thread.sleep(500);
+            return invocation.callRealMethod();
+        }).when(timesheetService).createOrUpdateTimesheet(any(), any(), any());
+    }
+
+    @Test
+    void concurrentDuplicatesExecuteOnceAndReplayTheResponse() throws Exception {
+        Integer userId = newUser().getId();
+        String key = UUID.randomUUID().toString();
+        byte[] body = timesheet();
+
+        List<MockHttpServletResponse> responses = race(2, () -> send(userId, key, body));
+
+        verify(timesheetService, times(1)).createOrUpdateTimesheet(eq(userId), any(), any());
+        assertThat(responses).allSatisfy(response -> assertThat(response.getStatus()).isEqualTo(201));
+        assertThat(responses).filteredOn(response -> response.getHeader(IdempotencyFilter.REPLAYED_HEADER) != null)
+                .hasSize(1);
+
+        MockHttpServletResponse first = responses.get(0);
+        MockHttpServletResponse second = responses.get(1);
+        assertThat(first.getHeader(HttpHeaders.ETAG)).isNotNull().isEqualTo(second.getHeader(HttpHeaders.ETAG));
+        assertThat(first.getContentAsString()).isEqualTo(second.getContentAsString());
+    }
+
+    @Test
+    void staleClaimIsTakenOver() throws Exception {
+        Integer userId = newUser().getId();
+        String key = UUID.randomUUID().toString();
+        byte[] body = timesheet();
+
+        // Left behind by an instance that died mid-request, well past the wait timeout
+        LocalDateTime claimedAt = LocalDateTime.now().minusMinutes(1);
+        jdbcTemplate.update("INSERT INTO idempotency_keys "
+                        + "(principal, idempotency_key, request_hash, status, created_at, claimed_at, expires_at) "
+                        + "VALUES (?, ?, ?, 'IN_PROGRESS', ?, ?, ?)",
+                PRINCIPAL, key, IdempotencyFilter.hash("POST", path(userId), body),
+                claimedAt, claimedAt, claimedAt.plusDays(1));
+
+        MockHttpServletResponse response = send(userId, key, body);
+
+        assertThat(response.getStatus()).isEqualTo(201);
+        assertThat(response.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isNull();
+        verify(timesheetService, times(1)).createOrUpdateTimesheet(eq(userId), any(), any());
+        assertThat(idempotencyRecordRepository.findById(new IdempotencyRecordId(PRINCIPAL, key)))
+                .get()
+                .satisfies(record -> {
+                    assertThat(record.getStatus()).isEqualTo(IdempotencyStatus.COMPLETED);
+                    assertThat(record.getResponseHeaders()).startsWith(HttpHeaders.ETAG + ": ");
+                });
+    }
+
+    private MockHttpServletResponse send(Integer userId, String key, byte[] body) throws Exception {
+        return mockMvc.perform(post(path(userId))
+                        .with(user(PRINCIPAL).roles("ADMIN"))
+                        .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String path(Integer userId) {
+        return "/api/v1/timesheets/user/" + userId;
+    }
+
+    private byte[] timesheet() throws Exception {
+        return objectMapper.writeValueAsBytes(new TimesheetRequest(WEEK, List.of(
+                new TimeEntryRequest(null, null, WEEK, new BigDecimal("4"), TaskType.NON_BILLABLE, null))));
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .email("idempotency-" + UUID.randomUUID() + "@example.com")
+                .hashedPassword("unused")
+                .firstName("Idempotency")
+                .lastName("Tester")
+                .role(UserRole.ROLE_EMPLOYEE)
+                .isActive(true)
+                .build());
+    }
+
+    /**
+     * Runs the call on its own threads, released together, and returns the responses.
+     */
+    private static List<MockHttpServletResponse> race(int calls, Request request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<MockHttpServletResponse>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return request.send();
+                }));
+            }
+            start.countDown();
+
+            List<MockHttpServletResponse> responses = new ArrayList<>(calls);
+            for (Future<MockHttpServletResponse> future : futures) {
+                responses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        MockHttpServletResponse send() throws Exception;
+    }
+}
@@ -0,0 +1,188 @@
+package com.company.ems.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the application against a primary and a streaming replica of it, so routing
+ * is checked against a real standby: read-only transactions must land on the
+ * server in recovery, everything else on the primary, and reads must move to the
+ * primary once replay is paused for longer than the configured lag tolerance.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.enabled=true",
+        "app.datasource.replica.max-lag=1s",
+        // The test drives the lag check itself
+        "app.datasource.replica.lag-check-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+class ReadReplicaRoutingTest {
+
+    private static final Network NETWORK = Network.newNetwork();
+
+    private static final PostgreSQLContainer<?> PRIMARY = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("emsdb")
+            .withNetwork(NETWORK)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(
+                    Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\""),
+                    "/docker-entrypoint-initdb.d/replication.sh");
+
+    // Cloned from the primary with pg_basebackup and started as a hot standby
+    private static final GenericContainer<?> REPLICA = new GenericContainer<>("postgres:16-alpine")
+            .withNetwork(NETWORK)
+            .withExposedPorts(5432)
+            .withEnv("PGPASSWORD", "test")
+            .withCreateContainerCmdModifier(cmd -> cmd
+                    .withUser("postgres")
+                    .withEntrypoint("sh", "-c",
+                            "until pg_basebackup -h primary -U test -D /tmp/replica -R -X stream; do sleep 1; done"
+                                    + " && chmod 700 /tmp/replica && exec postgres -D /tmp/replica"))
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1))
+            .dependsOn(PRIMARY);
+
+    @DynamicPropertySource
+    static void datasourceProperties(DynamicPropertyRegistry registry) {
+        if (!REPLICA.isRunning()) {
+            REPLICA.start();
+        }
+        registry.add("spring.datasource.url", PRIMARY::getJdbcUrl);
+        registry.add("spring.datasource.username", PRIMARY::getUsername);
+        registry.add("spring.datasource.password", PRIMARY::getPassword);
+        registry.add("app.datasource.replica.url", () -> "jdbc:postgresql://" + REPLICA.getHost() + ":"
+                + REPLICA.getMappedPort(5432) + "/emsdb");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+        replica = new JdbcTemplate(routingDataSource.getReplica());
+        replicaLagMonitor.checkLag();
+    }
+
+    @AfterEach
+    void resumeReplay() {
+        replica.execute("SELECT pg_wal_replay_resume()");
+        awaitReplayed();
+        replicaLagMonitor.checkLag();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(inRecovery(readOnly)).isTrue();
+    }
+
+    @Test
+    void writesUseThePrimary() {
+        assertThat(inRecovery(readWrite)).isFalse();
+
+        String name = insertClient();
+
+        awaitReplayed();
+        assertThat(clientCount(readOnly, name)).isEqualTo(1);
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        replica.execute("SELECT pg_wal_replay_pause()");
+        String name = insertClient();
+        // Past the 1s tolerance, measured from the last transaction the replica replayed
+        sleep(Duration.ofMillis(2500));
+
+        replicaLagMonitor.checkLag();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isFalse();
+        assertThat(inRecovery(readOnly)).isFalse();
+        assertThat(clientCount(readOnly, name)).isEqualTo(1);
+        assertThat(replica.queryForObject("SELECT COUNT(*) FROM clients WHERE name = ?", Integer.class, name))
+                .isZero();
+
+        replica.execute("SELECT pg_wal_replay_resume()");
+        awaitReplayed();
+        replicaLagMonitor.checkLag();
+
+        assertThat(routingDataSource.isReplicaAvailable()).isTrue();
+        assertThat(inRecovery(readOnly)).isTrue();
+    }
+
+    private Boolean inRecovery(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class));
+    }
+
+    private Integer clientCount(TransactionTemplate transaction, String name) {
+        return transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clients WHERE name = ?", Integer.class, name));
+    }
+
+    private String insertClient() {
+        String name = "Replica " + UUID.randomUUID();
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("INSERT INTO clients (name) VALUES (?)", name));
+        return name;
+    }
+
+    private void awaitReplayed() {
+        String primaryLsn = new JdbcTemplate(routingDataSource.getResolvedDefaultDataSource())
+                .queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        await(() -> Boolean.TRUE.equals(replica.queryForObject(
+                "SELECT pg_last_wal_replay_lsn() >= ?::pg_lsn", Boolean.class, primaryLsn)));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        Instant deadline = Instant.now().plusSeconds(30);
+        while (!condition.getAsBoolean()) {
+            assertThat(Instant.now()).as("replica caught up").isBefore(deadline);
+            sleep(Duration.ofMillis(100));
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.company.ems.config;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test access to the per-thread {@link StatementBudget}: records the SQL the
+ * traced data source executes on the calling thread while an action runs.
+ */
+public final class StatementCapture {
+
+    private StatementCapture() {
+    }
+
+    public static List<String> capture(Runnable action) {
+        StatementBudget budget = StatementBudget.open();
+        try {
+            action.run();
+            return budget.top(Integer.MAX_VALUE).stream()
+                    .map(StatementBudget.StatementStats::getSql)
+                    .collect(Collectors.toList());
+        } finally {
+            StatementBudget.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.Invoice;
+import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.domain.Timesheet;
+import com.company.ems.domain.TimesheetStatus;
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The single {@code (:x IS NULL OR col = :x)} queries that the Specification
+ * searches replaced, kept so the replacements can be checked for returning the
+ * same rows and benchmarked against them.
+ */
+final class CatchAllSearches {
+
+    private static final String TIMESHEETS = "FROM Timesheet t WHERE " +
+            "t.weekStartDate BETWEEN :startDate AND :endDate AND " +
+            "(:userId IS NULL OR t.user.id = :userId) AND " +
+            "(:status IS NULL OR t.status = :status)";
+
+    private static final String INVOICES = "FROM Invoice i WHERE " +
+            "(:clientId IS NULL OR i.client.id = :clientId) AND " +
+            "(:status IS NULL OR i.status = :status) AND " +
+            "(:startDate IS NULL OR i.issueDate >= :startDate) AND " +
+            "(:endDate IS NULL OR i.issueDate <= :endDate)";
+
+    private static final String USERS = "FROM User u WHERE " +
+            "(:role IS NULL OR u.role = :role) AND " +
+            "(:department IS NULL OR u.department = :department) AND " +
+            "u.isActive = true";
+
+    private CatchAllSearches() {
+    }
+
+    static List<Timesheet> timesheets(EntityManager entityManager, LocalDate startDate, LocalDate endDate,
+                                      Integer userId, TimesheetStatus status) {
+        return entityManager.createQuery("SELECT t " + TIMESHEETS, Timesheet.class)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setParameter("userId", userId)
+                .setParameter("status", status)
+                .getResultList();
+    }
+
+    static Page<Invoice> invoices(EntityManager entityManager, Integer clientId, InvoiceStatus status,
+                                  LocalDate startDate, LocalDate endDate, Pageable pageable) {
+        TypedQuery<Invoice> query = entityManager.createQuery("SELECT i " + INVOICES, Invoice.class);
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(i) " + INVOICES, Long.class);
+        for (TypedQuery<?> q : List.of(query, count)) {
+            q.setParameter("clientId", clientId)
+                    .setParameter("status", status)
+                    .setParameter("startDate", startDate)
+                    .setParameter("endDate", endDate);
+        }
+        return page(query, count, pageable);
+    }
+
+    static Page<User> users(EntityManager entityManager, UserRole role, String department, Pageable pageable) {
+        TypedQuery<User> query = entityManager.createQuery("SELECT u " + USERS, User.class);
+        TypedQuery<Long> count = entityManager.createQuery("SELECT COUNT(u) " + USERS, Long.class);
+        for (TypedQuery<?> q : List.of(query, count)) {
+            q.setParameter("role", role)
+                    .setParameter("department", department);
+        }
+        return page(query, count, pageable);
+    }
+
+    // What Spring Data did for the @Query versions: a limited select plus a count
+    private static <T> Page<T> page(TypedQuery<T> query, TypedQuery<Long> count, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            List<T> content = query.getResultList();
+            return new PageImpl<>(content, pageable, content.size());
+        }
+        List<T> content = query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return new PageImpl<>(content, pageable, count.getSingleResult());
+    }
+}
@@ -0,0 +1,128 @@
+package com.company.ems.repository;
+
+import com.company.ems.EmsApplication;
+import com.company.ems.domain.Invoice;
+import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.support.SeedData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The invoice search as the catch-all {@code (:x IS NULL OR ...)} query it used to
+ * be ({@link CatchAllSearches}) against the Specification query that replaced it,
+ * one page at a time as the endpoint asks for it. Runs the application against a
+ * throwaway PostgreSQL container loaded with {@link SeedData} and analyzed.
+ * OptionalFilterSearchTest checks the two return the same rows.
+ *
+ * <p>Not part of the test run and needs Docker. Start it from the IDE, or with
+ * {@code mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt}
+ * followed by
+ * {@code java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.company.ems.repository.OptionalFilterSearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionalFilterSearchBenchmark {
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    // Comma-separated filters to supply; the rest are null
+    @Param({"client", "status", "range", "client,range", "status,range"})
+    private String filters;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private InvoiceRepository invoiceRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnly;
+
+    private Integer clientId;
+    private InvoiceStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine").withDatabaseName("emsdb");
+        postgres.start();
+        context = new SpringApplicationBuilder(EmsApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword())
+                .run();
+
+        // Committed: the container is thrown away afterwards
+        SeedData.insert(context.getBean(JdbcTemplate.class));
+
+        invoiceRepository = context.getBean(InvoiceRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        List<String> supplied = List.of(filters.split(","));
+        clientId = supplied.contains("client") ? SeedData.BASE + 1 : null;
+        status = supplied.contains("status") ? InvoiceStatus.SENT : null;
+        startDate = supplied.contains("range") ? LocalDate.now().minusMonths(3) : null;
+        endDate = supplied.contains("range") ? LocalDate.now() : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public Page<Invoice> catchAll() {
+        return readOnly.execute(tx ->
+                CatchAllSearches.invoices(entityManager, clientId, status, startDate, endDate, PAGE));
+    }
+
+    @Benchmark
+    public Page<Invoice> specification() {
+        return readOnly.execute(tx ->
+                invoiceRepository.findByFilters(clientId, status, startDate, endDate, PAGE));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OptionalFilterSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,143 @@
+package com.company.ems.repository;
+
+import com.company.ems.domain.Invoice;
+import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.domain.Timesheet;
+import com.company.ems.domain.TimesheetStatus;
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import com.company.ems.support.PostgresIntegrationTest;
+import com.company.ems.support.SeedData;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.company.ems.support.SeedData.BASE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every filter combination of the Specification searches and of the
+ * catch-all queries they replaced ({@link CatchAllSearches}) over
+ * {@link SeedData}, and checks that both return the same rows. The seed runs in
+ * a transaction that is rolled back. OptionalFilterSearchBenchmark times the two
+ * against each other.
+ */
+class OptionalFilterSearchTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.now().minusWeeks(8);
+    private static final LocalDate END = LocalDate.now();
+
+    // Seeded user 3 has an approved timesheet two weeks back; client 1's invoices are all SENT
+    private static final Integer USER_ID = BASE + 3;
+    private static final Integer CLIENT_ID = BASE + 1;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void timesheetSearchesReturnTheCatchAllRows() {
+        inSeededTransaction(() -> {
+            for (Integer userId : Arrays.asList(null, USER_ID)) {
+                for (TimesheetStatus status : Arrays.asList(null, TimesheetStatus.APPROVED)) {
+                    List<Integer> expected = ids(CatchAllSearches.timesheets(entityManager, START, END, userId, status),
+                            Timesheet::getId);
+                    List<Integer> actual = ids(timesheetRepository.findByDateRangeAndFilters(START, END, userId, status),
+                            Timesheet::getId);
+
+                    assertThat(expected).as("userId=%s status=%s", userId, status).isNotEmpty();
+                    assertThat(actual).as("userId=%s status=%s", userId, status)
+                            .containsExactlyInAnyOrderElementsOf(expected);
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    @Test
+    void invoiceSearchesReturnTheCatchAllRows() {
+        inSeededTransaction(() -> {
+            for (Integer clientId : Arrays.asList(null, CLIENT_ID)) {
+                for (InvoiceStatus status : Arrays.asList(null, InvoiceStatus.SENT)) {
+                    for (LocalDate startDate : Arrays.asList(null, START)) {
+                        for (LocalDate endDate : Arrays.asList(null, END)) {
+                            Page<Invoice> expected = CatchAllSearches.invoices(entityManager,
+                                    clientId, status, startDate, endDate, Pageable.unpaged());
+                            Page<Invoice> actual = invoiceRepository.findByFilters(
+                                    clientId, status, startDate, endDate, Pageable.unpaged());
+
+                            String filters = String.format("clientId=%s status=%s startDate=%s endDate=%s",
+                                    clientId, status, startDate, endDate);
+                            assertThat(expected.getContent()).as(filters).isNotEmpty();
+                            assertThat(ids(actual.getContent(), Invoice::getId)).as(filters)
+                                    .containsExactlyInAnyOrderElementsOf(ids(expected.getContent(), Invoice::getId));
+                            entityManager.clear();
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    @Test
+    void userSearchesReturnTheCatchAllRows() {
+        inSeededTransaction(() -> {
+            for (UserRole role : Arrays.asList(null, UserRole.ROLE_MANAGER)) {
+                for (String department : Arrays.asList(null, "Engineering")) {
+                    Page<User> expected = CatchAllSearches.users(entityManager, role, department, Pageable.unpaged());
+                    Page<User> actual = userRepository.findByFilters(role, department, Pageable.unpaged());
+
+                    assertThat(expected.getContent()).as("role=%s department=%s", role, department).isNotEmpty();
+                    assertThat(ids(actual.getContent(), User::getId)).as("role=%s department=%s", role, department)
+                            .containsExactlyInAnyOrderElementsOf(ids(expected.getContent(), User::getId));
+                    entityManager.clear();
+                }
+            }
+        });
+    }
+
+    private void inSeededTransaction(Runnable checks) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                SeedData.insert(jdbcTemplate);
+                checks.run();
+            });
+        } finally {
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+
+    private static <T> List<Integer> ids(Collection<T> rows, Function<T, Integer> id) {
+        return rows.stream().map(id).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,301 @@
+package com.company.ems.repository;
+
+import com.company.ems.config.StatementCapture;
+import com.company.ems.domain.IdempotencyRecordId;
+import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.domain.TimesheetStatus;
+import com.company.ems.domain.UserRole;
+import com.company.ems.support.PostgresIntegrationTest;
+import com.company.ems.support.SeedData;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static com.company.ems.support.SeedData.BASE;
+import static com.company.ems.support.SeedData.DETACHED_USER_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every {@code @Query} method in the repository package, plus the
+ * Specification-backed searches, is served by indexes. The methods are found by
+ * reflection, so a new query is covered without touching this test.
+ * <p>
+ * Each test inserts {@link SeedData} (tens of thousands of rows per table, with
+ * time entries in every partition), runs ANALYZE and then EXPLAINs the SQL
+ * Hibernate actually executes, all inside one transaction that is rolled back.
+ * With realistic volumes and statistics a Seq Scan in the plan is what the
+ * planner would choose in production, not an artefact of an empty table.
+ */
+class QueryPlanTest extends PostgresIntegrationTest {
+
+    private static final LocalDate START = LocalDate.now().minusWeeks(4);
+    private static final LocalDate END = LocalDate.now();
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    /**
+     * Queries that read a whole table by design; a Seq Scan is the right plan for them.
+     */
+    private static final Map<String, String> FULL_SCANS = Map.of(
+            "RateCardRepository.findAllEntries", "loads every card into the in-memory rate index",
+            "ProjectAssignmentRepository.findActiveForForecast", "forecasts every active assignment",
+            "ProjectRepository.findAllActiveProjects", "returns most of the table");
+
+    /**
+     * Tables small enough that a Seq Scan always wins.
+     */
+    private static final Set<String> SMALL_TABLES = Set.of("resource_versions");
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private TimesheetRepository timesheetRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void everyQueryMethodUsesIndexes() {
+        Repositories repositories = new Repositories(applicationContext);
+        List<String> violations = new ArrayList<>();
+        List<String> checked = new ArrayList<>();
+
+        inSeededTransaction(() -> {
+            for (Class<?> domainType : repositories) {
+                Class<?> repositoryInterface = repositories.getRepositoryInformationFor(domainType)
+                        .orElseThrow()
+                        .getRepositoryInterface();
+                if (!repositoryInterface.getPackageName().equals(QueryPlanTest.class.getPackageName())) {
+                    continue;
+                }
+                Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+
+                Arrays.stream(repositoryInterface.getDeclaredMethods())
+                        .filter(method -> method.isAnnotationPresent(Query.class))
+                        .sorted(Comparator.comparing(Method::getName))
+                        .forEach(method -> {
+                            String name = repositoryInterface.getSimpleName() + "." + method.getName();
+                            checked.add(name);
+                            if (!FULL_SCANS.containsKey(name)) {
+                                violations.addAll(seqScans(name, () -> invoke(repository, method)));
+                            }
+                        });
+            }
+        });
+
+        assertThat(checked).as("@Query methods found").isNotEmpty();
+        assertThat(violations).isEmpty();
+    }
+
+    @Test
+    void specificationSearchesUseIndexes() {
+        List<String> violations = new ArrayList<>();
+
+        inSeededTransaction(() -> {
+            violations.addAll(seqScans("timesheets in range",
+                    () -> timesheetRepository.findByDateRangeAndFilters(START, END, null, null)));
+            violations.addAll(seqScans("timesheets in range by user",
+                    () -> timesheetRepository.findByDateRangeAndFilters(START, END, BASE + 1, null)));
+            violations.addAll(seqScans("timesheets in range by status",
+                    () -> timesheetRepository.findByDateRangeAndFilters(START, END, null, TimesheetStatus.SUBMITTED)));
+            violations.addAll(seqScans("timesheets in range by user and status",
+                    () -> timesheetRepository.findByDateRangeAndFilters(START, END, BASE + 1, TimesheetStatus.APPROVED)));
+
+            violations.addAll(seqScans("invoices by client",
+                    () -> invoiceRepository.findByFilters(BASE + 1, null, null, null, PAGE)));
+            violations.addAll(seqScans("invoices by client in range",
+                    () -> invoiceRepository.findByFilters(BASE + 1, null, START, END, PAGE)));
+            violations.addAll(seqScans("invoices by status",
+                    () -> invoiceRepository.findByFilters(null, InvoiceStatus.SENT, null, null, PAGE)));
+            violations.addAll(seqScans("invoices by status in range",
+                    () -> invoiceRepository.findByFilters(null, InvoiceStatus.SENT, START, END, PAGE)));
+            violations.addAll(seqScans("invoices in range",
+                    () -> invoiceRepository.findByFilters(null, null, START, END, PAGE)));
+
+            violations.addAll(seqScans("active users by role",
+                    () -> userRepository.findByFilters(UserRole.ROLE_MANAGER, null, PAGE)));
+            violations.addAll(seqScans("active users by role and department",
+                    () -> userRepository.findByFilters(UserRole.ROLE_MANAGER, "Engineering", PAGE)));
+        });
+
+        assertThat(violations).isEmpty();
+    }
+
+    /**
+     * Seeds, analyzes and runs the checks in one transaction, then rolls it back and
+     * drops whatever the checks loaded into the second-level cache.
+     */
+    private void inSeededTransaction(Runnable checks) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                status.setRollbackOnly();
+                SeedData.insert(jdbcTemplate);
+                checks.run();
+            });
+        } finally {
+            entityManagerFactory.getCache().evictAll();
+        }
+    }
+
+    /**
+     * Runs the query, EXPLAINs every statement it issued and returns one line per
+     * Seq Scan on a table that is not in {@link #SMALL_TABLES}.
+     */
+    private List<String> seqScans(String name, Runnable query) {
+        List<String> statements = StatementCapture.capture(query).stream()
+                .filter(QueryPlanTest::isPlannable)
+                .collect(Collectors.toList());
+        if (statements.isEmpty()) {
+            return List.of(name + ": no statement captured");
+        }
+
+        List<String> violations = new ArrayList<>();
+        for (String sql : statements) {
+            String plan = explain(sql);
+            Matcher matcher = SEQ_SCAN.matcher(plan);
+            while (matcher.find()) {
+                if (!SMALL_TABLES.contains(matcher.group(1))) {
+                    violations.add(String.format("%s: Seq Scan on %s%n%s%n%s", name, matcher.group(1), sql, plan));
+                }
+            }
+        }
+        return violations;
+    }
+
+    private static boolean isPlannable(String sql) {
+        String statement = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return statement.startsWith("select") || statement.startsWith("with")
+                || statement.startsWith("insert") || statement.startsWith("update")
+                || statement.startsWith("delete");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList(
+                "EXPLAIN (GENERIC_PLAN) " + toNumberedParameters(sql), String.class));
+    }
+
+    private static void invoke(Object repository, Method method) {
+        Object[] arguments = Arrays.stream(method.getParameters())
+                .map(QueryPlanTest::argumentFor)
+                .toArray();
+        try {
+            method.invoke(repository, arguments);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(method + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * An argument of the parameter's type. The plans are generic, so the values only
+     * have to keep the modifying statements from failing inside the shared transaction.
+     */
+    private static Object argumentFor(Parameter parameter) {
+        Param param = parameter.getAnnotation(Param.class);
+        String name = param != null ? param.value() : parameter.getName();
+        Class<?> type = parameter.getType();
+
+        if (type == Integer.class || type == int.class) {
+            if (name.equals("limit")) {
+                return 10;
+            }
+            // attachSubtree then only inserts new links, whichever manager it is given
+            return name.equals("userId") ? DETACHED_USER_ID : BASE + 1;
+        }
+        if (type == LocalDate.class) {
+            return name.toLowerCase(Locale.ROOT).startsWith("end") || name.startsWith("to") ? END : START;
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.now();
+        }
+        if (type == BigDecimal.class) {
+            return BigDecimal.ONE;
+        }
+        if (type == String.class) {
+            return "a";
+        }
+        if (type == byte[].class) {
+            return new byte[0];
+        }
+        if (type == Pageable.class) {
+            return PAGE;
+        }
+        if (type == IdempotencyRecordId.class) {
+            return new IdempotencyRecordId("a", "a");
+        }
+        if (type.isEnum()) {
+            return type.getEnumConstants()[0];
+        }
+        if (Collection.class.isAssignableFrom(type)) {
+            Type elementType = ((ParameterizedType) parameter.getParameterizedType()).getActualTypeArguments()[0];
+            if (elementType == LocalDate.class) {
+                return List.of(START, END);
+            }
+            return List.of(BASE + 1, BASE + 2);
+        }
+        throw new IllegalArgumentException("No test argument for " + parameter);
+    }
+
+    /**
+     * GENERIC_PLAN takes $n placeholders rather than JDBC's ?; literals are left alone.
+     */
+    private static String toNumberedParameters(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 16);
+        boolean inLiteral = false;
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '\'') {
+                inLiteral = !inLiteral;
+            }
+            if (c == '?' && !inLiteral) {
+                result.append('$').append(++parameter);
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,109 @@
+package com.company.ems.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice line accumulation with {@link BigDecimal} (the previous
+ * {@code generateInvoice} loop) against the fixed-point path in
+ * {@link BillingAmounts}. Entries are spread over a fixed number of lines, as
+ * a month of time entries is spread over (project, user) pairs.
+ *
+ * <p>Not part of the test run. Build the test classes and start it from the
+ * IDE, or with
+ * {@code mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt}
+ * followed by
+ * {@code java -cp target/classes:target/test-classes:$(cat target/cp.txt) com.company.ems.service.BillingAmountsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BillingAmountsBenchmark {
+
+    private static final int LINES = 64;
+
+    @Param({"1000", "100000"})
+    private int entries;
+
+    private BigDecimal[] hours;
+    private BigDecimal[] rates;
+    private int[] lines;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(39);
+        hours = new BigDecimal[entries];
+        rates = new BigDecimal[LINES];
+        lines = new int[entries];
+        for (int line = 0; line < LINES; line++) {
+            rates[line] = BigDecimal.valueOf(5_000 + random.nextInt(20_000), 2);
+        }
+        for (int i = 0; i < entries; i++) {
+            hours[i] = BigDecimal.valueOf(25 + random.nextInt(800), 2);
+            lines[i] = random.nextInt(LINES);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal[] lineHours = new BigDecimal[LINES];
+        BigDecimal[] lineAmounts = new BigDecimal[LINES];
+        for (int i = 0; i < entries; i++) {
+            int line = lines[i];
+            BigDecimal newHours = lineHours[line] == null ? hours[i] : lineHours[line].add(hours[i]);
+            lineHours[line] = newHours;
+            lineAmounts[line] = newHours.multiply(rates[line]);
+        }
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : lineAmounts) {
+            if (amount != null) {
+                total = total.add(amount.setScale(BillingAmounts.SCALE, RoundingMode.HALF_UP));
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal fixedPoint() {
+        long[] lineHours = new long[LINES];
+        long[] rateCents = new long[LINES];
+        for (int line = 0; line < LINES; line++) {
+            rateCents[line] = BillingAmounts.toHundredths(rates[line]);
+        }
+        for (int i = 0; i < entries; i++) {
+            int line = lines[i];
+            lineHours[line] = Math.addExact(lineHours[line], BillingAmounts.toHundredths(hours[i]));
+        }
+        long totalCents = 0;
+        for (int line = 0; line < LINES; line++) {
+            totalCents = Math.addExact(totalCents, BillingAmounts.lineTotalCents(lineHours[line], rateCents[line]));
+        }
+        return BillingAmounts.toBigDecimal(totalCents);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BillingAmountsBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,155 @@
+package com.company.ems.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the fixed-point helpers against the equivalent {@link BigDecimal}
+ * arithmetic: fixed boundary cases plus seeded random inputs across the range
+ * where the result fits in a long.
+ */
+class BillingAmountsTest {
+
+    private static final int SAMPLES = 100_000;
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "1, 100",
+            "12.34, 1234",
+            "0.005, 1",
+            "0.004, 0",
+            "1.125, 113",
+            "1.1249, 112",
+            "-0.005, -1",
+            "-0.004, 0",
+            "-1.125, -113",
+            "99999999.99, 9999999999"
+    })
+    void toHundredthsRoundsHalfUp(String value, long expected) {
+        assertThat(BillingAmounts.toHundredths(new BigDecimal(value))).isEqualTo(expected);
+    }
+
+    @Test
+    void toHundredthsTreatsNullAsZero() {
+        assertThat(BillingAmounts.toHundredths(null)).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "50, 100, 1",
+            "49, 100, 0",
+            "150, 100, 2",
+            "250, 100, 3",
+            "-50, 100, -1",
+            "-49, 100, 0",
+            "-150, 100, -2",
+            "50, -100, -1",
+            "-50, -100, 1",
+            "0, 7, 0",
+            "7, 2, 4",
+            "-7, 2, -4"
+    })
+    void divideHalfUpRoundsAwayFromZeroOnTies(long dividend, long divisor, long expected) {
+        assertThat(BillingAmounts.divideHalfUp(dividend, divisor)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // 1.5h at 33.33 = 49.995 -> 50.00
+            "150, 3333, 5000",
+            // 0.01h at 0.49 = 0.0049 -> 0.00
+            "1, 49, 0",
+            // 0.01h at 0.50 = 0.005 -> 0.01
+            "1, 50, 1",
+            // Credits round the same way, away from zero
+            "-150, 3333, -5000",
+            "-1, 50, -1",
+            "0, 12345, 0"
+    })
+    void lineTotalCentsRoundsHalfUp(long hundredthsOfHours, long rateCents, long expected) {
+        assertThat(BillingAmounts.lineTotalCents(hundredthsOfHours, rateCents)).isEqualTo(expected);
+    }
+
+    @Test
+    void toHundredthsMatchesBigDecimal() {
+        Random random = new Random(39);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Up to six decimals so every rounding position is exercised
+            BigDecimal value = BigDecimal.valueOf(random.nextLong() % 1_000_000_000_000_000L, 6);
+            long expected = value.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+            assertThat(BillingAmounts.toHundredths(value)).as("toHundredths(%s)", value).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void divideHalfUpMatchesBigDecimal() {
+        Random random = new Random(41);
+        for (int i = 0; i < SAMPLES; i++) {
+            long dividend = random.nextLong() / 2;
+            long divisor = random.nextInt(2) == 0 ? 100 : random.nextLong() % 1_000_000L;
+            if (divisor == 0) {
+                continue;
+            }
+            long expected = BigDecimal.valueOf(dividend)
+                    .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                    .longValueExact();
+            assertThat(BillingAmounts.divideHalfUp(dividend, divisor))
+                    .as("divideHalfUp(%d, %d)", dividend, divisor)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void lineTotalCentsMatchesBigDecimal() {
+        Random random = new Random(43);
+        for (int i = 0; i < SAMPLES; i++) {
+            // Both factors below 2^31, so the product always fits in a long
+            long hundredthsOfHours = random.nextInt();
+            long rateCents = random.nextInt();
+            long expected = BigDecimal.valueOf(hundredthsOfHours, 2)
+                    .multiply(BigDecimal.valueOf(rateCents, 2))
+                    .setScale(2, RoundingMode.HALF_UP)
+                    .movePointRight(2)
+                    .longValueExact();
+            assertThat(BillingAmounts.lineTotalCents(hundredthsOfHours, rateCents))
+                    .as("lineTotalCents(%d, %d)", hundredthsOfHours, rateCents)
+                    .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void toBigDecimalRoundTrips() {
+        Random random = new Random(47);
+        for (int i = 0; i < SAMPLES; i++) {
+            long hundredths = random.nextLong();
+            assertThat(BillingAmounts.toHundredths(BillingAmounts.toBigDecimal(hundredths))).isEqualTo(hundredths);
+        }
+    }
+
+    @Test
+    void overflowThrowsInsteadOfWrapping() {
+        assertThatThrownBy(() -> BillingAmounts.lineTotalCents(Long.MAX_VALUE / 2, 3))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> BillingAmounts.lineTotalCents(Long.MIN_VALUE, 2))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> BillingAmounts.toHundredths(new BigDecimal("1E20")))
+                .isInstanceOf(ArithmeticException.class);
+        // Invoice totals accumulate line totals with Math.addExact
+        long largestLine = BillingAmounts.lineTotalCents(Integer.MAX_VALUE, Integer.MAX_VALUE);
+        assertThatThrownBy(() -> {
+            long total = 0;
+            for (int line = 0; line < 10_000; line++) {
+                total = Math.addExact(total, largestLine);
+            }
+        }).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,213 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.client.ClientRequest;
+import com.company.ems.api.dto.project.ProjectAssignmentBulkRequest;
+import com.company.ems.api.dto.project.ProjectRequest;
+import com.company.ems.api.dto.user.UserRequest;
+import com.company.ems.domain.Client;
+import com.company.ems.domain.Project;
+import com.company.ems.domain.ProjectAssignment;
+import com.company.ems.domain.ProjectStatus;
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import com.company.ems.repository.ClientRepository;
+import com.company.ems.repository.ProjectAssignmentRepository;
+import com.company.ems.repository.ProjectRepository;
+import com.company.ems.repository.UserRepository;
+import com.company.ems.support.PostgresIntegrationTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every read goes through the second-level or query cache after a first load, and
+ * every write goes through the service or endpoint that production uses, including
+ * the native set-based assignment statements. Each test first checks that the
+ * value really is cached, so a passing read-after-write proves invalidation rather
+ * than a cache miss.
+ */
+@AutoConfigureMockMvc
+class CacheCoherenceTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private ClientService clientService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectAssignmentRepository assignmentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void clientUpdateIsVisibleThroughTheCache() {
+        Client client = newClient();
+        assertThat(clientRepository.findById(client.getId())).get()
+                .extracting(Client::getName).isEqualTo(client.getName());
+        assertCached(Client.class, client.getId());
+
+        clientService.updateClient(client.getId(), new ClientRequest("Renamed " + client.getId(), null, null, null));
+
+        assertThat(clientRepository.findById(client.getId())).get()
+                .extracting(Client::getName).isEqualTo("Renamed " + client.getId());
+    }
+
+    @Test
+    void projectUpdateIsVisibleThroughTheCache() {
+        Client client = newClient();
+        Integer projectId = projectService.createProject(projectRequest("Before", client, null)).id();
+        assertThat(projectRepository.findById(projectId)).get()
+                .extracting(Project::getName).isEqualTo("Before");
+        assertCached(Project.class, projectId);
+
+        projectService.updateProject(projectId, new ProjectRequest(
+                "After", client.getId(), new BigDecimal("150.00"), ProjectStatus.INACTIVE, null));
+
+        Project stored = projectRepository.findById(projectId).orElseThrow();
+        assertThat(stored.getName()).isEqualTo("After");
+        assertThat(stored.getStatus()).isEqualTo(ProjectStatus.INACTIVE);
+        assertThat(stored.getDefaultBillableRate()).isEqualByComparingTo("150.00");
+    }
+
+    @Test
+    void userUpdateIsVisibleThroughTheCache() {
+        User user = newUser();
+        assertThat(userRepository.findById(user.getId())).get()
+                .extracting(User::getFirstName).isEqualTo("Cache");
+        assertCached(User.class, user.getId());
+
+        userService.updateUser(user.getId(), new UserRequest(user.getEmail(), null, "Updated", "Tester",
+                UserRole.ROLE_MANAGER, null, "Delivery", "Lead", null, true));
+
+        User stored = userRepository.findById(user.getId()).orElseThrow();
+        assertThat(stored.getFirstName()).isEqualTo("Updated");
+        assertThat(stored.getJobTitle()).isEqualTo("Lead");
+    }
+
+    @Test
+    void syncAssignmentsIsVisibleThroughTheCache() {
+        Client client = newClient();
+        Integer kept = newUser().getId();
+        Integer dropped = newUser().getId();
+        Integer added = newUser().getId();
+        Integer projectId = projectService.createProject(projectRequest("Sync", client, List.of(kept, dropped))).id();
+
+        // Load every lookup so the entity region and the query cache hold the old state
+        Integer droppedAssignmentId = assignmentRepository.findByUserIdAndProjectId(dropped, projectId)
+                .orElseThrow().getId();
+        assertThat(assignmentRepository.findById(droppedAssignmentId)).isPresent();
+        assertCached(ProjectAssignment.class, droppedAssignmentId);
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(dropped, projectId)).isTrue();
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(added, projectId)).isFalse();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(added, projectId)).isEmpty();
+
+        projectService.updateProject(projectId, projectRequest("Sync", client, List.of(kept, added)));
+
+        assertThat(assignmentRepository.findById(droppedAssignmentId)).isEmpty();
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(dropped, projectId)).isFalse();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(dropped, projectId)).isEmpty();
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(kept, projectId)).isTrue();
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(added, projectId)).isTrue();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(added, projectId)).isPresent();
+
+        // An empty list clears the project
+        projectService.updateProject(projectId, projectRequest("Sync", client, List.of()));
+
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(kept, projectId)).isFalse();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(added, projectId)).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void bulkAssignAndUnassignAreVisibleThroughTheCache() throws Exception {
+        Client client = newClient();
+        Integer first = projectService.createProject(projectRequest("Bulk A", client, null)).id();
+        Integer second = projectService.createProject(projectRequest("Bulk B", client, null)).id();
+        Integer user = newUser().getId();
+
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(user, first)).isFalse();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(user, second)).isEmpty();
+
+        mockMvc.perform(post("/api/v1/projects/assignments/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new ProjectAssignmentBulkRequest(List.of(first, second), List.of(user)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedCount").value(2));
+
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(user, first)).isTrue();
+        Integer assignmentId = assignmentRepository.findByUserIdAndProjectId(user, second).orElseThrow().getId();
+        assertThat(assignmentRepository.findById(assignmentId)).isPresent();
+        assertCached(ProjectAssignment.class, assignmentId);
+
+        mockMvc.perform(delete("/api/v1/projects/assignments/bulk")
+                        .param("projectIds", String.valueOf(first), String.valueOf(second))
+                        .param("userIds", String.valueOf(user)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changedCount").value(2));
+
+        assertThat(assignmentRepository.findById(assignmentId)).isEmpty();
+        assertThat(assignmentRepository.existsByUserIdAndProjectId(user, first)).isFalse();
+        assertThat(assignmentRepository.findByUserIdAndProjectId(user, second)).isEmpty();
+    }
+
+    private void assertCached(Class<?> entityType, Integer id) {
+        assertThat(entityManagerFactory.getCache().contains(entityType, id))
+                .as("%s %d is in the second-level cache", entityType.getSimpleName(), id)
+                .isTrue();
+    }
+
+    private Client newClient() {
+        return clientRepository.save(Client.builder().name("Cache Client " + UUID.randomUUID()).build());
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .email("cache-" + UUID.randomUUID() + "@example.com")
+                .hashedPassword("unused")
+                .firstName("Cache")
+                .lastName("Tester")
+                .role(UserRole.ROLE_MANAGER)
+                .isActive(true)
+                .build());
+    }
+
+    private static ProjectRequest projectRequest(String name, Client client, List<Integer> employeeIds) {
+        return new ProjectRequest(name, client.getId(), new BigDecimal("100.00"), ProjectStatus.ACTIVE, employeeIds);
+    }
+}
@@ -0,0 +1,214 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.invoice.InvoiceStatusUpdateRequest;
+import com.company.ems.api.dto.invoice.PaymentRequest;
+import com.company.ems.api.dto.timesheet.TimeEntryRequest;
+import com.company.ems.api.dto.timesheet.TimesheetRequest;
+import com.company.ems.api.dto.timesheet.TimesheetResponse;
+import com.company.ems.domain.Client;
+import com.company.ems.domain.Invoice;
+import com.company.ems.domain.InvoiceStatus;
+import com.company.ems.domain.TaskType;
+import com.company.ems.domain.User;
+import com.company.ems.domain.UserRole;
+import com.company.ems.repository.ClientRepository;
+import com.company.ems.repository.InvoiceRepository;
+import com.company.ems.repository.PaymentRepository;
+import com.company.ems.repository.TimeEntryRepository;
+import com.company.ems.repository.UserRepository;
+import com.company.ems.support.PostgresIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races conditional updates and payments against each other on real rows.
+ * Every caller is released at once from a latch so the reads, version checks
+ * and flushes genuinely overlap.
+ */
+class ConcurrentUpdateTest extends PostgresIntegrationTest {
+
+    private static final int THREADS = 8;
+    private static final LocalDate WEEK = LocalDate.of(2024, 3, 3);
+
+    @Autowired
+    private TimesheetService timesheetService;
+
+    @Autowired
+    private InvoiceService invoiceService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private TimeEntryRepository timeEntryRepository;
+
+    @Test
+    void onlyOneIfMatchTimesheetUpdateWins() throws Exception {
+        Integer userId = newUser().getId();
+        TimesheetResponse created = timesheetService.createOrUpdateTimesheet(
+                userId, new TimesheetRequest(WEEK, List.of(entry(WEEK, "1"))), null);
+
+        List<Outcome> outcomes = race(THREADS, i -> () -> timesheetService.createOrUpdateTimesheet(
+                userId,
+                new TimesheetRequest(WEEK, List.of(entry(WEEK.plusDays(1), String.valueOf(i + 2)))),
+                created.version()));
+
+        assertThat(outcomes).filteredOn(Outcome::succeeded).hasSize(1);
+        assertThat(outcomes).filteredOn(outcome -> !outcome.succeeded())
+                .allSatisfy(outcome -> assertThat(outcome.failure()).isInstanceOfAny(
+                        VersionMismatchException.class, OptimisticLockingFailureException.class));
+
+        // The stored entries are exactly the winner's
+        TimesheetResponse winner = (TimesheetResponse) outcomes.stream()
+                .filter(Outcome::succeeded).findFirst().orElseThrow().result();
+        TimesheetResponse stored = timesheetService.getTimesheetById(created.id());
+        assertThat(stored.version()).isEqualTo(winner.version()).isGreaterThan(created.version());
+        assertThat(timeEntryRepository.findByTimesheetId(created.id()))
+                .singleElement()
+                .satisfies(entry -> assertThat(entry.getHours())
+                        .isEqualByComparingTo(winner.timeEntries().get(0).hours()));
+    }
+
+    @Test
+    void onlyOneIfMatchInvoiceStatusUpdateWins() throws Exception {
+        Invoice invoice = newInvoice();
+        Long version = invoice.getVersion();
+
+        List<Outcome> outcomes = race(THREADS, i -> () -> invoiceService.updateInvoiceStatus(
+                invoice.getId(),
+                new InvoiceStatusUpdateRequest(i % 2 == 0 ? InvoiceStatus.OVERDUE : InvoiceStatus.SENT),
+                version));
+
+        assertThat(outcomes).filteredOn(Outcome::succeeded).hasSize(1);
+        assertThat(outcomes).filteredOn(outcome -> !outcome.succeeded())
+                .allSatisfy(outcome -> assertThat(outcome.failure()).isInstanceOfAny(
+                        VersionMismatchException.class, OptimisticLockingFailureException.class));
+        assertThat(invoiceRepository.findById(invoice.getId()).orElseThrow().getVersion())
+                .isEqualTo(version + 1);
+    }
+
+    @Test
+    void concurrentPaymentsAreNeverLost() throws Exception {
+        Invoice invoice = newInvoice();
+        int payments = THREADS * 3;
+
+        // Unconditional status updates race the payments: a stale entity write would
+        // overwrite amount_paid, so each must either see the latest row or fail
+        List<Outcome> outcomes = race(payments + THREADS, i -> i < payments
+                ? () -> invoiceService.recordPayment(invoice.getId(),
+                        new PaymentRequest(LocalDate.of(2024, 3, 10), new BigDecimal("10.00"), "BANK", null))
+                : () -> invoiceService.updateInvoiceStatus(invoice.getId(),
+                        new InvoiceStatusUpdateRequest(InvoiceStatus.SENT), null));
+
+        assertThat(outcomes.subList(0, payments)).allMatch(Outcome::succeeded);
+        assertThat(outcomes.subList(payments, outcomes.size()))
+                .filteredOn(outcome -> !outcome.succeeded())
+                .allSatisfy(outcome -> assertThat(outcome.failure())
+                        .isInstanceOf(OptimisticLockingFailureException.class));
+
+        Invoice stored = invoiceRepository.findById(invoice.getId()).orElseThrow();
+        assertThat(stored.getAmountPaid())
+                .isEqualByComparingTo(new BigDecimal("10.00").multiply(BigDecimal.valueOf(payments)));
+        assertThat(paymentRepository.findByInvoiceId(invoice.getId())).hasSize(payments);
+        assertThat(stored.getStatus()).isEqualTo(InvoiceStatus.SENT);
+    }
+
+    private User newUser() {
+        return userRepository.save(User.builder()
+                .email("race-" + UUID.randomUUID() + "@example.com")
+                .hashedPassword("unused")
+                .firstName("Race")
+                .lastName("Tester")
+                .role(UserRole.ROLE_EMPLOYEE)
+                .isActive(true)
+                .build());
+    }
+
+    private Invoice newInvoice() {
+        Client client = clientRepository.save(Client.builder().name("Race Client " + UUID.randomUUID()).build());
+        return invoiceRepository.saveAndFlush(Invoice.builder()
+                .client(client)
+                .issueDate(LocalDate.of(2024, 3, 1))
+                .dueDate(LocalDate.of(2024, 3, 31))
+                .status(InvoiceStatus.SENT)
+                .totalAmount(new BigDecimal("1000.00"))
+                .amountPaid(BigDecimal.ZERO)
+                .build());
+    }
+
+    private static TimeEntryRequest entry(LocalDate date, String hours) {
+        return new TimeEntryRequest(null, null, date, new BigDecimal(hours), TaskType.NON_BILLABLE, null);
+    }
+
+    /**
+     * Runs the calls on their own threads, released together, and returns their
+     * outcomes in call order.
+     */
+    private static List<Outcome> race(int calls, CallFactory factory) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(calls);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>(calls);
+            for (int i = 0; i < calls; i++) {
+                Callable<Object> call = factory.create(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+
+            List<Outcome> outcomes = new ArrayList<>(calls);
+            for (Future<Object> future : futures) {
+                try {
+                    outcomes.add(new Outcome(future.get(30, TimeUnit.SECONDS), null));
+                } catch (ExecutionException e) {
+                    outcomes.add(new Outcome(null, e.getCause()));
+                } catch (TimeoutException e) {
+                    throw new AssertionError("Concurrent call did not finish", e);
+                }
+            }
+            return outcomes;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface CallFactory {
+        Callable<Object> create(int index);
+    }
+
+    private record Outcome(Object result, Throwable failure) {
+
+        boolean succeeded() {
+            return failure == null;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.company.ems.service;
+
+import com.company.ems.api.dto.forecast.CapacityForecastResponse;
+import com.company.ems.api.dto.forecast.ForecastWeekResponse;
+import com.company.ems.api.dto.forecast.ProjectForecastResponse;
+import com.company.ems.api.dto.forecast.UserCapacityResponse;
+import com.company.ems.domain.ResourceType;
+import com.company.ems.repository.ForecastAssignment;
+import com.company.ems.repository.ProjectAssignmentRepository;
+import com.company.ems.repository.RateCardEntry;
+import com.company.ems.repository.TimeEntryRepository;
+import com.company.ems.repository.WeeklyProjectHours;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ForecastServiceTest {
+
+    // Wednesday; last week's timesheets are due Friday 2024-03-15 17:00
+    private static final Instant BEFORE_DEADLINE = Instant.parse("2024-03-13T10:00:00Z");
+    private static final Instant AFTER_DEADLINE = Instant.parse("2024-03-15T17:00:00Z");
+    private static final LocalDate FROM_WEEK = LocalDate.of(2024, 3, 10);
+    private static final int HISTORY_WEEKS = 12;
+    private static final int MAX_WEEKS = 26;
+
+    private final ProjectionFactory projections = new SpelAwareProxyProjectionFactory();
+    private final List<WeeklyProjectHours> history = new ArrayList<>();
+    private final List<ForecastAssignment> assignments = new ArrayList<>();
+    private final List<RateCardEntry> rateCards = new ArrayList<>();
+
+    private TimeEntryRepository timeEntryRepository;
+    private ForecastService service;
+
+    @BeforeEach
+    void setUp() {
+        timeEntryRepository = mock(TimeEntryRepository.class);
+        ProjectAssignmentRepository assignmentRepository = mock(ProjectAssignmentRepository.class);
+        RateCardService rateCardService = mock(RateCardService.class);
+        ResourceVersionService resourceVersionService = mock(ResourceVersionService.class);
+
+        when(timeEntryRepository.findWeeklyProjectHours(any(), any())).thenReturn(history);
+        when(assignmentRepository.findActiveForForecast()).thenReturn(assignments);
+        when(rateCardService.currentIndex()).thenAnswer(invocation -> RateCardIndex.build(rateCards));
+        when(resourceVersionService.getVersions(any(ResourceType[].class))).thenReturn(Map.of());
+
+        service = new ForecastService(timeEntryRepository, assignmentRepository, rateCardService,
+                resourceVersionService, mock(JdbcTemplate.class));
+        ReflectionTestUtils.setField(service, "historyWeeks", HISTORY_WEEKS);
+        ReflectionTestUtils.setField(service, "maxWeeks", MAX_WEEKS);
+        ReflectionTestUtils.setField(service, "decay", 0.8);
+        ReflectionTestUtils.setField(service, "weeklyCapacityHours", new BigDecimal("40"));
+        ReflectionTestUtils.setField(service, "submissionDeadlineDay", DayOfWeek.FRIDAY);
+        ReflectionTestUtils.setField(service, "submissionDeadlineHour", 17);
+        ReflectionTestUtils.setField(service, "submissionDeadlineMinute", 0);
+        service.clock = Clock.fixed(AFTER_DEADLINE, ZoneOffset.UTC);
+    }
+
+    @Test
+    void lateJoinerIsAveragedFromTheirFirstWeek() {
+        assign(1, 10, null);
+        // Joined two weeks before the end of the window: 20h, then 10h last week
+        hours(1, 10, HISTORY_WEEKS - 2, "20");
+        hours(1, 10, HISTORY_WEEKS - 1, "10");
+
+        CapacityForecastResponse forecast = service.getCapacityForecast(4);
+
+        // (10 * 1 + 20 * 0.8) / (1 + 0.8), not diluted by the ten weeks before joining
+        assertThat(weeklyHours(project(forecast, 1))).containsOnly(new BigDecimal("14.44"));
+    }
+
+    @Test
+    void membersWithoutHistoryTakeTheProjectMedian() {
+        assign(1, 10, null);
+        assign(1, 11, null);
+        assign(1, 12, null);
+        assign(1, 13, null);
+        steadyHours(1, 10, "10");
+        steadyHours(1, 11, "20");
+        steadyHours(1, 12, "30");
+
+        CapacityForecastResponse forecast = service.getCapacityForecast(1);
+
+        assertThat(user(forecast, 13).demandHours()).isEqualByComparingTo("20.00");
+        assertThat(project(forecast, 1).billableHours()).isEqualByComparingTo("80.00");
+    }
+
+    @Test
+    void projectWithoutAnyHistoryForecastsNothing() {
+        assign(1, 10, null);
+
+        CapacityForecastResponse forecast = service.getCapacityForecast(2);
+
+        assertThat(project(forecast, 1).billableHours()).isEqualByComparingTo("0");
+        assertThat(user(forecast, 10).demandHours()).isEqualByComparingTo("0");
+    }
+
+    @Test
+    void demandOverCapacityIsScaledDownAcrossProjects() {
+        assign(1, 10, null);
+        assign(2, 10, null);
+        steadyHours(1, 10, "30");
+        steadyHours(2, 10, "30");
+
+        CapacityForecastResponse forecast = service.getCapacityForecast(2);
+
+        assertThat(weeklyHours(project(forecast, 1))).containsOnly(new BigDecimal("20.00"));
+        assertThat(weeklyHours(project(forecast, 2))).containsOnly(new BigDecimal("20.00"));
+        UserCapacityResponse user = user(forecast, 10);
+        assertThat(user.demandHours()).isEqualByComparingTo("60.00");
+        assertThat(user.forecastHours()).isEqualByComparingTo("40.00");
+        assertThat(user.utilization()).isEqualByComparingTo("1.50");
+    }
+
+    @Test
+    void weeksArePricedAtTheRateInEffectOnTheirSunday() {
+        assign(1, 10, "Engineer");
+        steadyHours(1, 10, "10");
+        // User card for weeks 4-7, then the job-title card from a Wednesday in week 9
+        rateCard(1, 10, null, "150.00", FROM_WEEK.plusWeeks(4), FROM_WEEK.plusWeeks(8).minusDays(1));
+        rateCard(1, null, "engineer ", "120.00", FROM_WEEK.plusWeeks(9).plusDays(3), null);
+
+        List<BigDecimal> revenue = project(service.getCapacityForecast(12), 1).weeks().stream()
+                .map(ForecastWeekResponse::revenue)
+                .collect(Collectors.toList());
+
+        // Project default is 100.00
+        assertThat(revenue.subList(0, 4)).allSatisfy(week -> assertThat(week).isEqualByComparingTo("1000.00"));
+        assertThat(revenue.subList(4, 8)).allSatisfy(week -> assertThat(week).isEqualByComparingTo("1500.00"));
+        assertThat(revenue.subList(8, 10)).allSatisfy(week -> assertThat(week).isEqualByComparingTo("1000.00"));
+        assertThat(revenue.subList(10, 12)).allSatisfy(week -> assertThat(week).isEqualByComparingTo("1200.00"));
+    }
+
+    @Test
+    void lastWeekIsLeftOutUntilItsTimesheetsAreDue() {
+        service.clock = Clock.fixed(BEFORE_DEADLINE, ZoneOffset.UTC);
+        service.getCapacityForecast(1);
+        verify(timeEntryRepository).findWeeklyProjectHours(
+                FROM_WEEK.minusWeeks(HISTORY_WEEKS + 1), FROM_WEEK.minusWeeks(1));
+
+        service.clock = Clock.fixed(AFTER_DEADLINE, ZoneOffset.UTC);
+        CapacityForecastResponse forecast = service.getCapacityForecast(1);
+        verify(timeEntryRepository).findWeeklyProjectHours(FROM_WEEK.minusWeeks(HISTORY_WEEKS), FROM_WEEK);
+        assertThat(forecast.fromWeek()).isEqualTo(FROM_WEEK);
+    }
+
+    private void assign(int projectId, int userId, String jobTitle) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("projectId", projectId);
+        row.put("projectName", "Project " + projectId);
+        row.put("clientName", "Client");
+        row.put("defaultBillableRate", new BigDecimal("100.00"));
+        row.put("userId", userId);
+        row.put("firstName", "User");
+        row.put("lastName", String.valueOf(userId));
+        row.put("jobTitle", jobTitle);
+        assignments.add(projections.createProjection(ForecastAssignment.class, row));
+    }
+
+    private void hours(int projectId, int userId, int weekIndex, String billableHours) {
+        history.add(projections.createProjection(WeeklyProjectHours.class, Map.of(
+                "projectId", projectId,
+                "userId", userId,
+                "weekIndex", weekIndex,
+                "billableHours", new BigDecimal(billableHours))));
+    }
+
+    private void steadyHours(int projectId, int userId, String billableHours) {
+        for (int week = 0; week < HISTORY_WEEKS; week++) {
+            hours(projectId, userId, week, billableHours);
+        }
+    }
+
+    private void rateCard(int projectId, Integer userId, String jobTitle, String rate,
+                          LocalDate effectiveFrom, LocalDate effectiveTo) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("projectId", projectId);
+        row.put("userId", userId);
+        row.put("jobTitle", jobTitle);
+        row.put("rate", new BigDecimal(rate));
+        row.put("effectiveFrom", effectiveFrom);
+        row.put("effectiveTo", effectiveTo);
+        rateCards.add(projections.createProjection(RateCardEntry.class, row));
+    }
+
+    private static ProjectForecastResponse project(CapacityForecastResponse forecast, int projectId) {
+        return forecast.projects().stream()
+                .filter(project -> project.projectId() == projectId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static UserCapacityResponse user(CapacityForecastResponse forecast, int userId) {
+        return forecast.users().stream()
+                .filter(user -> user.userId() == userId)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<BigDecimal> weeklyHours(ProjectForecastResponse project) {
+        return project.weeks().stream()
+                .map(ForecastWeekResponse::billableHours)
+                .collect(Collectors.toList());
+    }
+}
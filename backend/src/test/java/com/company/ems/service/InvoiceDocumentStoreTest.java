@@ -0,0 +1,83 @@
+package com.company.ems.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InvoiceDocumentStoreTest {
+
+    private static final byte[] V1 = {1};
+    private static final byte[] V2 = {2};
+
+    @TempDir
+    Path root;
+
+    private InvoiceDocumentStore store;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        store = new InvoiceDocumentStore(root.toString());
+    }
+
+    @Test
+    void newerVersionReplacesOlderOnes() throws IOException {
+        store.write(7, 1L, V1);
+        Path current = store.write(7, 2L, V2);
+
+        assertThat(files()).containsExactly("invoice-7-v2.pdf");
+        assertThat(Files.readAllBytes(current)).isEqualTo(V2);
+        assertThat(store.find(7, 1L)).isEmpty();
+    }
+
+    @Test
+    void lateRenderOfAnOlderVersionKeepsTheNewerArtifact() throws IOException {
+        Path current = store.write(7, 2L, V2);
+
+        Path returned = store.write(7, 1L, V1);
+
+        assertThat(returned).isEqualTo(current);
+        assertThat(files()).containsExactly("invoice-7-v2.pdf");
+        assertThat(Files.readAllBytes(current)).isEqualTo(V2);
+    }
+
+    @Test
+    void otherInvoicesAreLeftAlone() {
+        store.write(7, 5L, V1);
+        store.write(70, 1L, V1);
+        store.write(7, 6L, V2);
+
+        assertThat(files()).containsExactlyInAnyOrder("invoice-7-v6.pdf", "invoice-70-v1.pdf");
+    }
+
+    @Test
+    void failedWriteLeavesNoTempFile() throws IOException {
+        // A non-empty directory in the target's place makes the move fail
+        Path blocked = Files.createDirectory(root.resolve("invoice-7-v3.pdf"));
+        Files.createFile(blocked.resolve("keep"));
+
+        assertThatThrownBy(() -> store.write(7, 3L, V1)).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(files()).containsExactly("invoice-7-v3.pdf");
+    }
+
+    private List<String> files() {
+        try (Stream<Path> paths = Files.list(root)) {
+            return paths.map(path -> path.getFileName().toString())
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
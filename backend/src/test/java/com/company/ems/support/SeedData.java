@@ -0,0 +1,93 @@
+package com.company.ems.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * Bulk rows for tests that need production-like volumes and statistics: tens of
+ * thousands of users, timesheets, invoices and payments, and time entries in every
+ * partition including the default one. Seeded ids start at {@link #BASE}, clear of
+ * anything other tests create, and the last step refreshes weekly_project_hours and
+ * runs ANALYZE. Run it in a transaction that is rolled back unless the database is
+ * thrown away afterwards.
+ */
+public final class SeedData {
+
+    public static final int BASE = 1_000_000;
+    public static final int USERS = 20_000;
+    public static final int CLIENTS = 2_000;
+    public static final int PROJECTS = 10_000;
+    public static final int INVOICES = 40_000;
+
+    /**
+     * Has no manager and no reports, so only its self row is in user_hierarchy.
+     */
+    public static final int DETACHED_USER_ID = BASE + USERS + 1;
+
+    private static final String WEEK = "(date_trunc('week', CURRENT_DATE)::date - 1)";
+
+    private static final List<String> STATEMENTS = List.of(
+            "INSERT INTO users (id, email, hashed_password, first_name, last_name, role, is_active, "
+                    + "hire_date, department, job_title) "
+                    + "SELECT " + BASE + " + g, 'plan' || g || '@example.com', 'x', 'First' || g, 'Last' || g, "
+                    + "CASE WHEN g % 50 = 0 THEN 'ROLE_MANAGER' ELSE 'ROLE_EMPLOYEE' END, g % 10 <> 7, "
+                    + "CURRENT_DATE - g % 3000, (ARRAY['Engineering', 'Sales', 'Finance', 'Operations'])[g % 4 + 1], "
+                    + "'Consultant' "
+                    + "FROM generate_series(1, " + (USERS + 1) + ") g",
+            "UPDATE users SET reports_to_manager_id = " + BASE + " + ((id - " + BASE + " - 1) / 50 + 1) * 50 "
+                    + "WHERE id > " + BASE + " AND id <= " + (BASE + USERS) + " AND (id - " + BASE + ") % 50 <> 0",
+            "INSERT INTO user_hierarchy (ancestor_id, descendant_id, depth) "
+                    + "SELECT id, id, 0 FROM users WHERE id > " + BASE,
+            "INSERT INTO user_hierarchy (ancestor_id, descendant_id, depth) "
+                    + "SELECT reports_to_manager_id, id, 1 FROM users "
+                    + "WHERE id > " + BASE + " AND reports_to_manager_id IS NOT NULL",
+            "INSERT INTO clients (id, name, contact_person) "
+                    + "SELECT " + BASE + " + g, 'Client ' || g, 'Contact ' || g "
+                    + "FROM generate_series(1, " + CLIENTS + ") g",
+            "INSERT INTO projects (id, name, client_id, default_billable_rate, status) "
+                    + "SELECT " + BASE + " + g, 'Project ' || g, " + BASE + " + g % " + CLIENTS + " + 1, 100, "
+                    + "CASE WHEN g % 5 = 0 THEN 'INACTIVE' ELSE 'ACTIVE' END "
+                    + "FROM generate_series(1, " + PROJECTS + ") g",
+            // Two assignments per user, on distinct projects
+            "INSERT INTO project_assignments (user_id, project_id) "
+                    + "SELECT " + BASE + " + (g - 1) % " + USERS + " + 1, "
+                    + BASE + " + (g - 1) / " + USERS + " * " + (PROJECTS / 2)
+                    + " + (g - 1) % " + (PROJECTS / 2) + " + 1 "
+                    + "FROM generate_series(1, " + (USERS * 2) + ") g",
+            // Five weeks per user between 20 weeks back and about a year ahead: every partition gets rows
+            "INSERT INTO timesheets (id, user_id, week_start_date, status, submitted_at) "
+                    + "SELECT " + BASE + " + g, " + BASE + " + (g - 1) % " + USERS + " + 1, "
+                    + WEEK + " + 7 * ((g - 1) / " + USERS + " * 16 + (g - 1) % " + USERS + " % 16 - 20), "
+                    + "CASE g % 20 WHEN 0 THEN 'SUBMITTED' WHEN 1 THEN 'DRAFT' WHEN 2 THEN 'REJECTED' "
+                    + "ELSE 'APPROVED' END, now() "
+                    + "FROM generate_series(1, " + (USERS * 5) + ") g",
+            "INSERT INTO time_entries (timesheet_id, project_id, entry_date, hours, task_type) "
+                    + "SELECT t.id, " + BASE + " + (t.id + d) % " + PROJECTS + " + 1, t.week_start_date + d, 4, "
+                    + "CASE WHEN d = 2 THEN 'NON_BILLABLE' ELSE 'BILLABLE' END "
+                    + "FROM timesheets t CROSS JOIN generate_series(0, 2) d WHERE t.id > " + BASE,
+            "INSERT INTO invoices (id, client_id, issue_date, due_date, status, total_amount, amount_paid) "
+                    + "SELECT " + BASE + " + g, " + BASE + " + g % " + CLIENTS + " + 1, "
+                    + "CURRENT_DATE - g % 720, CURRENT_DATE - g % 720 + 30, "
+                    + "CASE g % 10 WHEN 0 THEN 'SENT' WHEN 1 THEN 'OVERDUE' WHEN 2 THEN 'DRAFT' ELSE 'PAID' END, "
+                    + "1000, 0 "
+                    + "FROM generate_series(1, " + INVOICES + ") g",
+            "INSERT INTO payments (invoice_id, payment_date, amount, method) "
+                    + "SELECT id, issue_date + 10, 500, 'BANK_TRANSFER' FROM invoices WHERE id > " + BASE,
+            "INSERT INTO rate_cards (project_id, user_id, rate, effective_from) "
+                    + "SELECT " + BASE + " + g, " + BASE + " + g % " + USERS + " + 1, 150, CURRENT_DATE - 365 "
+                    + "FROM generate_series(1, " + PROJECTS + ") g",
+            "INSERT INTO idempotency_keys (principal, idempotency_key, request_hash, status, created_at, expires_at) "
+                    + "SELECT 'plan' || g % 100, 'key-' || g, 'hash', 'COMPLETED', now(), "
+                    + "now() + g % 48 * INTERVAL '1 hour' "
+                    + "FROM generate_series(1, 5000) g",
+            "REFRESH MATERIALIZED VIEW weekly_project_hours",
+            "ANALYZE");
+
+    private SeedData() {
+    }
+
+    public static void insert(JdbcTemplate jdbcTemplate) {
+        STATEMENTS.forEach(jdbcTemplate::execute);
+    }
+}
@@ -10,13 +10,68 @@ const ApproveTimesheets = () => {
   const [comments, setComments] = useState('');
 
   useEffect(() => {
+    if (!user?.id) {
+      return undefined;
+    }
+
+    // Subscribe first so nothing submitted during the initial fetch is missed
+    const controller = new AbortController();
+    timesheetService
+      .streamPendingTimesheetsForManager(user.id, applyQueueEvent, controller.signal)
+      .catch((error) => {
+        if (error.name !== 'AbortError') {
+          console.error('Approval queue stream closed:', error);
+        }
+      });
     fetchTimesheets();
+
+    return () => controller.abort();
   }, [user?.id]);
 
+  const applyQueueEvent = (event) => {
+    if (event.type === 'RESYNC') {
+      fetchTimesheets();
+      return;
+    }
+
+    setTimesheets((current) => {
+      const remaining = current.filter((timesheet) => timesheet.id !== event.timesheetId);
+      if (event.type !== 'SUBMITTED') {
+        return remaining;
+      }
+      return [
+        ...remaining,
+        {
+          id: event.timesheetId,
+          userId: event.userId,
+          userName: event.userName,
+          weekStartDate: event.weekStartDate,
+          status: event.status,
+          totalHours: event.totalHours,
+          version: event.version,
+        },
+      ];
+    });
+    if (event.type !== 'SUBMITTED') {
+      setSelectedTimesheet((selected) => (selected?.id === event.timesheetId ? null : selected));
+    }
+  };
+
+  const handleSelect = async (timesheet) => {
+    setSelectedTimesheet(timesheet);
+    if (!timesheet.timeEntries) {
+      try {
+        setSelectedTimesheet(await timesheetService.getTimesheetById(timesheet.id));
+      } catch (error) {
+        console.error('Failed to fetch timesheet:', error);
+      }
+    }
+  };
+
   const fetchTimesheets = async () => {
     if (user?.id) {
       try {
-        const response = await timesheetService.getPendingTimesheetsForManager(user.id);
+        const response = await timesheetService.getPendingTimesheetSummariesForManager(user.id);
         setTimesheets(response.content || []);
       } catch (error) {
         console.error('Failed to fetch timesheets:', error);
@@ -70,7 +125,7 @@ const ApproveTimesheets = () => {
               {timesheets.map((timesheet) => (
                 <button
                   key={timesheet.id}
-                  onClick={() => setSelectedTimesheet(timesheet)}
+                  onClick={() => handleSelect(timesheet)}
                   className={`w-full text-left p-4 rounded border ${
                     selectedTimesheet?.id === timesheet.id
                       ? 'border-blue-500 bg-blue-50'
@@ -12,7 +12,7 @@ const Dashboard = () => {
     const fetchData = async () => {
       if (user?.id) {
         try {
-          const response = await timesheetService.getTimesheetsByUserId(user.id, 0, 5);
+          const response = await timesheetService.getTimesheetSummariesByUserId(user.id, 0, 5);
           setTimesheets(response.content || []);
         } catch (error) {
           console.error('Failed to fetch timesheets:', error);
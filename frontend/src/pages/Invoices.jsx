@@ -69,6 +69,28 @@ const Invoices = () => {
     }
   };
 
+  const handleDownloadPdf = async (id) => {
+    try {
+      let pdf = await invoiceService.downloadInvoicePdf(id);
+      for (let attempt = 0; pdf === null && attempt < 5; attempt++) {
+        await new Promise((resolve) => setTimeout(resolve, 2000));
+        pdf = await invoiceService.downloadInvoicePdf(id);
+      }
+      if (pdf === null) {
+        alert('The PDF is still being generated, please try again shortly');
+        return;
+      }
+      const url = URL.createObjectURL(pdf);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `invoice-${id}.pdf`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      alert('Failed to download PDF: ' + (error.response?.data?.detail || error.message));
+    }
+  };
+
   const getStatusColor = (status) => {
     switch (status) {
       case 'PAID':
@@ -219,6 +241,12 @@ const Invoices = () => {
                         <option value="PAID">Paid</option>
                         <option value="OVERDUE">Overdue</option>
                       </select>
+                      <button
+                        onClick={() => handleDownloadPdf(invoice.id)}
+                        className="ml-2 text-sm text-blue-600 hover:text-blue-800"
+                      >
+                        PDF
+                      </button>
                     </td>
                   </tr>
                 ))}
@@ -15,7 +15,7 @@ const Timesheets = () => {
   const fetchTimesheets = async () => {
     if (user?.id) {
       try {
-        const response = await timesheetService.getTimesheetsByUserId(user.id);
+        const response = await timesheetService.getTimesheetSummariesByUserId(user.id);
         setTimesheets(response.content || []);
       } catch (error) {
         console.error('Failed to fetch timesheets:', error);
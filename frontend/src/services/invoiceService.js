@@ -22,6 +22,12 @@ export const invoiceService = {
     return response.data;
   },
 
+  // Resolves to null while the server is still rendering (202); retry after a moment
+  downloadInvoicePdf: async (id) => {
+    const response = await api.get(`/invoices/${id}/pdf`, { responseType: 'blob' });
+    return response.status === 202 ? null : response.data;
+  },
+
   generateInvoice: async (invoiceData) => {
     const response = await api.post('/invoices/generate', invoiceData);
     return response.data;
@@ -42,5 +42,17 @@ export const projectService = {
   unassignUserFromProject: async (userId, projectId) => {
     await api.delete(`/projects/assignments?userId=${userId}&projectId=${projectId}`);
   },
+
+  assignUsersToProjects: async (projectIds, userIds) => {
+    const response = await api.post('/projects/assignments/bulk', { projectIds, userIds });
+    return response.data;
+  },
+
+  unassignUsersFromProjects: async (projectIds, userIds) => {
+    const response = await api.delete(
+      `/projects/assignments/bulk?projectIds=${projectIds.join(',')}&userIds=${userIds.join(',')}`
+    );
+    return response.data;
+  },
 };
 
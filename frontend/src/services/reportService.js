@@ -0,0 +1,8 @@
+import api from './api';
+
+export const reportService = {
+  getCapacityForecast: async (weeks = 12) => {
+    const response = await api.get(`/reports/capacity-forecast?weeks=${weeks}`);
+    return response.data;
+  },
+};
@@ -6,6 +6,11 @@ export const timesheetService = {
     return response.data;
   },
 
+  getTimesheetSummariesByUserId: async (userId, page = 0, size = 10) => {
+    const response = await api.get(`/timesheets/user/${userId}/summary?page=${page}&size=${size}`);
+    return response.data;
+  },
+
   getTimesheetById: async (id) => {
     const response = await api.get(`/timesheets/${id}`);
     return response.data;
@@ -16,11 +21,58 @@ export const timesheetService = {
     return response.data;
   },
 
+  getPendingTimesheetSummariesForManager: async (managerId, page = 0, size = 10) => {
+    const response = await api.get(`/timesheets/pending/manager/${managerId}/summary?page=${page}&size=${size}`);
+    return response.data;
+  },
+
+  // EventSource cannot send the Authorization header, so the stream is read with fetch
+  streamPendingTimesheetsForManager: async (managerId, onEvent, signal) => {
+    const response = await fetch(`/api/v1/timesheets/pending/manager/${managerId}/stream`, {
+      headers: {
+        Accept: 'text/event-stream',
+        Authorization: `Bearer ${localStorage.getItem('token')}`,
+      },
+      signal,
+    });
+    if (!response.ok) {
+      throw new Error(`Stream failed with status ${response.status}`);
+    }
+
+    const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+    let buffer = '';
+    for (;;) {
+      const { value, done } = await reader.read();
+      if (done) {
+        return;
+      }
+      buffer += value;
+      let boundary;
+      while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+        const message = buffer.slice(0, boundary);
+        buffer = buffer.slice(boundary + 2);
+        const data = message
+          .split('\n')
+          .filter((line) => line.startsWith('data:'))
+          .map((line) => line.slice(5))
+          .join('\n');
+        if (data) {
+          onEvent(JSON.parse(data));
+        }
+      }
+    }
+  },
+
   createOrUpdateTimesheet: async (userId, timesheetData) => {
     const response = await api.post(`/timesheets/user/${userId}`, timesheetData);
     return response.data;
   },
 
+  upsertTimesheetWeeks: async (userId, weeks) => {
+    const response = await api.post(`/timesheets/user/${userId}/batch`, { weeks });
+    return response.data;
+  },
+
   submitTimesheet: async (id) => {
     const response = await api.post(`/timesheets/${id}/submit`);
     return response.data;
@@ -34,6 +86,15 @@ export const timesheetService = {
     return response.data;
   },
 
+  bulkApproveOrRejectTimesheets: async (timesheetIds, approved, comments) => {
+    const response = await api.post('/timesheets/approval/bulk', {
+      timesheetIds,
+      approved,
+      comments,
+    });
+    return response.data;
+  },
+
   deleteTimesheet: async (id) => {
     await api.delete(`/timesheets/${id}`);
   },